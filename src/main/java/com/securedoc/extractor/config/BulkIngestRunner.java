@@ -0,0 +1,66 @@
+package com.securedoc.extractor.config;
+
+import com.securedoc.extractor.service.BulkIngestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+
+/**
+ * bulk-ingest 프로필로 실행하면 웹 서버 없이 디렉터리의 PDF를 수집하고 보고서를 출력한 뒤 종료
+ * 예: java -jar extractor.jar --spring.profiles.active=bulk-ingest --bulk-ingest.dir=/data/contracts
+ */
+@Component
+@Profile("bulk-ingest")
+@RequiredArgsConstructor
+@Slf4j
+public class BulkIngestRunner implements CommandLineRunner {
+
+    private final BulkIngestService bulkIngestService;
+    private final ApplicationContext applicationContext;
+
+    @Value("${bulk-ingest.dir:}")
+    private String dir;
+
+    @Override
+    public void run(String... args) throws Exception {
+        int exitCode = 0;
+        try {
+            if (dir.isBlank()) {
+                log.error("수집할 디렉터리를 --bulk-ingest.dir로 지정해주세요");
+                exitCode = 2;
+            } else {
+                BulkIngestService.Report report = bulkIngestService.ingest(Paths.get(dir));
+                printReport(report);
+                exitCode = report.failed() > 0 ? 1 : 0;
+            }
+        } catch (Exception e) {
+            log.error("일괄 수집 실패 (다시 실행하면 체크포인트 이후부터 이어서 처리)", e);
+            exitCode = 1;
+        }
+
+        // 스케줄러 등 다른 스레드가 남아 있어도 수집이 끝나면 종료
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+
+    private void printReport(BulkIngestService.Report report) {
+        log.info("=".repeat(80));
+        log.info("일괄 수집 보고서");
+        log.info("저장: {}건 (추출 오류 {}건), 실패: {}건, 건너뜀(체크포인트): {}건",
+                report.saved(), report.extractionErrors(), report.failed(), report.skipped());
+        log.info("전체 크기: {} MB, 소요 시간: {}s",
+                String.format("%.1f", report.totalBytes() / 1024.0 / 1024.0),
+                String.format("%.1f", report.elapsedMs() / 1000.0));
+        log.info("처리량: {} 파일/s, {} MB/s", report.filesPerSecond(), report.megabytesPerSecond());
+        log.info("파일당 지연: p50 {}ms, p95 {}ms, p99 {}ms, max {}ms",
+                report.p50Ms(), report.p95Ms(), report.p99Ms(), report.maxMs());
+        log.info("=".repeat(80));
+    }
+}
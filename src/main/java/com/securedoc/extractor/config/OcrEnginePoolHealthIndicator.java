@@ -0,0 +1,40 @@
+package com.securedoc.extractor.config;
+
+import com.securedoc.extractor.service.OcrEnginePool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * OCR 엔진 풀 상태 (/actuator/health의 ocrEnginePool 항목)
+ */
+@Component
+@RequiredArgsConstructor
+public class OcrEnginePoolHealthIndicator implements HealthIndicator {
+
+    private final OcrEnginePool ocrEnginePool;
+
+    @Override
+    public Health health() {
+        if (!ocrEnginePool.isAvailable()) {
+            // OCR 없이도 텍스트 PDF는 처리 가능하므로 DOWN이 아닌 UNKNOWN으로 보고
+            return Health.unknown()
+                    .withDetail("reason", ocrEnginePool.getUnavailableReason())
+                    .build();
+        }
+
+        int size = ocrEnginePool.getSize();
+        int inUse = ocrEnginePool.getInUseCount();
+        double saturation = Math.round((double) inUse / size * 100.0) / 100.0;
+
+        return Health.up()
+                .withDetail("size", size)
+                .withDetail("inUse", inUse)
+                .withDetail("waiting", ocrEnginePool.getWaitingCount())
+                .withDetail("saturation", saturation)
+                .withDetail("language", ocrEnginePool.getLanguage())
+                .withDetail("tessdataPath", ocrEnginePool.getDataPath())
+                .build();
+    }
+}
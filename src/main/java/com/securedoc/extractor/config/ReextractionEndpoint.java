@@ -0,0 +1,30 @@
+package com.securedoc.extractor.config;
+
+import com.securedoc.extractor.service.DocumentReextractionService;
+import com.securedoc.extractor.service.RulesMigrationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 규칙 버전 백그라운드 재추출 진행 상황 (/actuator/reextraction)
+ * bulk 항목은 POST /documents/reextract로 시작한 일괄 재추출의 진행 상황
+ */
+@Component
+@Endpoint(id = "reextraction")
+@RequiredArgsConstructor
+public class ReextractionEndpoint {
+
+    private final RulesMigrationService rulesMigrationService;
+    private final DocumentReextractionService documentReextractionService;
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = rulesMigrationService.getProgress();
+        progress.put("bulk", documentReextractionService.getBulkProgress());
+        return progress;
+    }
+}
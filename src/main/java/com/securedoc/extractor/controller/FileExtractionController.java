@@ -1,10 +1,24 @@
 package com.securedoc.extractor.controller;
 
+import com.securedoc.extractor.exception.ExtractionRejectedException;
+import com.securedoc.extractor.exception.InvalidPdfException;
 import com.securedoc.extractor.model.Document;
+import com.securedoc.extractor.model.ExtractionJob;
 import com.securedoc.extractor.model.ExtractionResult;
+import com.securedoc.extractor.service.BatchExtractionService;
+import com.securedoc.extractor.service.DocumentReextractionService;
 import com.securedoc.extractor.service.DocumentService;
+import com.securedoc.extractor.service.ExtractionAdmissionService;
 import com.securedoc.extractor.service.ExcelExportService;
+import com.securedoc.extractor.service.ExtractionCacheService;
+import com.securedoc.extractor.service.ExtractionJobService;
+import com.securedoc.extractor.service.ExtractionLane;
+import com.securedoc.extractor.service.ExtractionProgressService;
+import com.securedoc.extractor.service.ExtractionControl;
+import com.securedoc.extractor.service.ExtractionThreadPools;
+import com.securedoc.extractor.service.OcrDeferralService;
 import com.securedoc.extractor.service.PdfExtractionService;
+import com.securedoc.extractor.service.PdfPreflight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
@@ -19,16 +33,33 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.constraints.NotNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RestController
 @RequestMapping("/api/extract")
@@ -45,67 +76,252 @@ public class FileExtractionController {
     private final PdfExtractionService pdfExtractionService;
     private final DocumentService documentService;
     private final ExcelExportService excelExportService;
+    private final ExtractionJobService extractionJobService;
+    private final ExtractionCacheService extractionCacheService;
+    private final DocumentReextractionService documentReextractionService;
+    private final BatchExtractionService batchExtractionService;
+    private final ExtractionProgressService extractionProgressService;
+    private final ExtractionAdmissionService extractionAdmissionService;
+    private final ExtractionThreadPools extractionThreadPools;
+    private final OcrDeferralService ocrDeferralService;
+    private final PdfPreflight pdfPreflight;
 
+    /**
+     * 파일 업로드 및 추출
+     * @param async true인 경우 작업만 등록하고 202 Accepted와 작업 ID를 반환
+     */
     @PostMapping("/upload")
-    public ResponseEntity<ExtractionResult> uploadAndExtract(
-            @RequestParam("file") @NotNull(message = "파일이 필요합니다") MultipartFile file) {
+    public CompletableFuture<ResponseEntity<?>> uploadAndExtract(
+            @RequestParam("file") @NotNull(message = "파일이 필요합니다") MultipartFile file,
+            @RequestParam(value = "async", defaultValue = "false") boolean async) {
 
         if (file == null || file.isEmpty()) {
-            return createErrorResponse("업로드할 파일이 없습니다", HttpStatus.BAD_REQUEST);
+            return completed(createErrorResponse("업로드할 파일이 없습니다", HttpStatus.BAD_REQUEST));
         }
 
         if (file.getSize() > MAX_FILE_SIZE) {
-            return createErrorResponse("파일 크기가 50MB를 초과합니다", HttpStatus.BAD_REQUEST);
+            return completed(createErrorResponse("파일 크기가 50MB를 초과합니다", HttpStatus.BAD_REQUEST));
         }
 
         String originalFilename = file.getOriginalFilename();
         if (originalFilename == null || originalFilename.trim().isEmpty()) {
-            return createErrorResponse("파일명이 유효하지 않습니다", HttpStatus.BAD_REQUEST);
+            return completed(createErrorResponse("파일명이 유효하지 않습니다", HttpStatus.BAD_REQUEST));
         }
 
         if (!isValidFileExtension(originalFilename)) {
-            return createErrorResponse("PDF 파일만 업로드 가능합니다", HttpStatus.BAD_REQUEST);
+            return completed(createErrorResponse("PDF 파일만 업로드 가능합니다", HttpStatus.BAD_REQUEST));
         }
 
         // Content-Type 검증 추가
         String contentType = file.getContentType();
         if (contentType == null || !contentType.toLowerCase().contains("pdf")) {
-            return createErrorResponse("PDF 파일만 업로드 가능합니다", HttpStatus.BAD_REQUEST);
+            return completed(createErrorResponse("PDF 파일만 업로드 가능합니다", HttpStatus.BAD_REQUEST));
+        }
+
+        if (async) {
+            return completed(submitExtractionJob(file));
         }
 
         Path tempFilePath = null;
-        Path storedFilePath = null;
 
         try {
-            tempFilePath = saveTempFile(file);
-
-            ExtractionResult result = pdfExtractionService.processPdfFile(tempFilePath.toFile());
-
-            // PDF 파일을 영구 저장소에 저장
-            storedFilePath = saveStoredFile(file, result.getDocId());
-            result.setFilePath(storedFilePath.toString());
+            TempUpload upload = saveTempFile(file);
+            tempFilePath = upload.path();
+
+            // PDF가 아니거나 잘린/암호화된 파일은 추출 풀에 보내기 전에 거부
+            PdfPreflight.Report report = pdfPreflight.verify(tempFilePath.toFile());
+
+            // 같은 내용의 파일을 이미 추출했다면 결과와 저장 파일을 재사용
+            Optional<ExtractionResult> cached = extractionCacheService.lookup(upload.sha256(), originalFilename);
+            if (cached.isPresent()) {
+                documentService.saveExtractionResult(cached.get());
+                log.info("파일 처리 완료 (캐시): {}", originalFilename);
+                cleanupTempFile(tempFilePath);
+                return completed(ResponseEntity.ok(cached.get()));
+            }
 
-            documentService.saveExtractionResult(result);
+            return extractOnWorkers(tempFilePath, report, upload.sha256(), originalFilename);
 
-            log.info("파일 처리 완료: {}", originalFilename);
-            return ResponseEntity.ok(result);
+        } catch (InvalidPdfException e) {
+            cleanupTempFile(tempFilePath);
+            return completed(createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST));
 
         } catch (IOException e) {
             log.error("파일 저장 실패: {}", originalFilename, e);
-            // 저장 실패 시 영구 파일도 삭제
-            cleanupTempFile(storedFilePath);
-            return createErrorResponse("파일 저장 중 오류 발생", HttpStatus.INTERNAL_SERVER_ERROR);
+            cleanupTempFile(tempFilePath);
+            return completed(createErrorResponse("파일 저장 중 오류 발생", HttpStatus.INTERNAL_SERVER_ERROR));
 
         } catch (Exception e) {
             log.error("파일 처리 실패: {}", originalFilename, e);
-            // 처리 실패 시 영구 파일도 삭제
-            cleanupTempFile(storedFilePath);
-            return createErrorResponse("파일 처리 중 오류 발생: " + e.getMessage(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
+            cleanupTempFile(tempFilePath);
+            return completed(createErrorResponse("파일 처리 중 오류 발생: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
 
-        } finally {
+    /**
+     * 서블릿 스레드를 붙잡지 않도록 문서 분류와 용량 대기는 입장 풀에서, PDF 파싱/OCR은 레인별 CPU 풀에서,
+     * 영구 저장과 DB 저장은 I/O 풀에서 수행
+     * 처리 용량이 없으면 제한된 시간만 기다리고 429로 거부하며, 입장 허가(permit)는 추출이 끝나는 즉시 반환한다.
+     * 요청당 파일 하나라 사용자별 공정 대기열은 거치지 않는다 (여러 파일은 비동기/일괄 업로드가 공정 대기열로 처리).
+     * OCR 지연 모드로 분류된 문서는 텍스트 레이어만 추출해 pending-ocr 상태로 바로 응답한다.
+     */
+    private CompletableFuture<ResponseEntity<?>> extractOnWorkers(Path tempFilePath, PdfPreflight.Report report,
+                                                               String contentHash, String originalFilename) {
+        AtomicReference<Path> storedFilePath = new AtomicReference<>();
+        // 보안 컨텍스트를 담은 실행기는 요청 스레드에서 미리 만들어 둠
+        Executor fastExecutor = extractionThreadPools.cpuExecutor(ExtractionLane.FAST);
+        Executor slowExecutor = extractionThreadPools.cpuExecutor(ExtractionLane.SLOW);
+
+        CompletableFuture<ExtractionAdmissionService.Permit> admission;
+        try {
+            admission = CompletableFuture.supplyAsync(
+                    () -> extractionAdmissionService.admit(tempFilePath.toFile(), report),
+                    extractionThreadPools.admissionExecutor());
+        } catch (RejectedExecutionException e) {
             cleanupTempFile(tempFilePath);
+            return completed(createRejectedResponse(new ExtractionRejectedException(
+                    "처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요",
+                    extractionAdmissionService.estimateRetryAfterSeconds(ExtractionLane.FAST, 1))));
+        }
+
+        return admission
+                .thenCompose(permit -> CompletableFuture.supplyAsync(() -> {
+                    try (permit) {
+                        ExtractionControl control = pdfExtractionService.newControl();
+                        if (permit.getClassification().deferOcr()) {
+                            control.deferOcr();
+                        }
+                        ExtractionResult result = pdfExtractionService.processPdfFile(tempFilePath.toFile(),
+                                null, control);
+                        if (ExtractionControl.PENDING_OCR.equals(result.getStatus())) {
+                            ocrDeferralService.recordDeferred();
+                        }
+                        return result;
+                    }
+                }, permit.getLane() == ExtractionLane.SLOW ? slowExecutor : fastExecutor))
+                .<ResponseEntity<?>>thenApplyAsync(result -> {
+                    // PDF 파일을 영구 저장소에 저장
+                    try {
+                        storedFilePath.set(saveStoredFile(tempFilePath, originalFilename, result.getDocId()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    result.setFilePath(storedFilePath.get().toString());
+
+                    documentService.saveExtractionResult(result);
+                    extractionCacheService.store(contentHash, result);
+
+                    log.info("파일 처리 완료: {}", originalFilename);
+                    return ResponseEntity.ok(result);
+                }, extractionThreadPools.ioExecutor())
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    // 실패 시 영구 파일도 삭제
+                    cleanupTempFile(storedFilePath.get());
+
+                    if (cause instanceof ExtractionRejectedException rejected) {
+                        return createRejectedResponse(rejected);
+                    }
+                    if (cause instanceof UncheckedIOException) {
+                        log.error("파일 저장 실패: {}", originalFilename, cause);
+                        return createErrorResponse("파일 저장 중 오류 발생", HttpStatus.INTERNAL_SERVER_ERROR);
+                    }
+                    log.error("파일 처리 실패: {}", originalFilename, cause);
+                    return createErrorResponse("파일 처리 중 오류 발생: " + cause.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR);
+                })
+                .whenComplete((response, e) -> cleanupTempFile(tempFilePath));
+    }
+
+    private static CompletableFuture<ResponseEntity<?>> completed(ResponseEntity<?> response) {
+        return CompletableFuture.completedFuture(response);
+    }
+
+    /**
+     * 여러 PDF 또는 ZIP 아카이브 일괄 추출
+     * 파일별 결과를 끝나는 대로 NDJSON 한 줄씩 전송하고, 마지막 줄에 처리량/실패/전체 바이트 요약을 보낸다.
+     */
+    @PostMapping("/upload/batch")
+    public ResponseEntity<?> uploadBatch(
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @RequestParam(value = "archive", required = false) MultipartFile archive) {
+
+        boolean hasFiles = files != null && files.stream().anyMatch(file -> !file.isEmpty());
+        boolean hasArchive = archive != null && !archive.isEmpty();
+        if (!hasFiles && !hasArchive) {
+            return createErrorResponse("업로드할 파일이 없습니다", HttpStatus.BAD_REQUEST);
         }
+
+        if (hasArchive && (archive.getOriginalFilename() == null
+                || !archive.getOriginalFilename().toLowerCase().endsWith(".zip"))) {
+            return createErrorResponse("archive에는 ZIP 파일만 업로드 가능합니다", HttpStatus.BAD_REQUEST);
+        }
+
+        // 응답 스트림은 비동기 요청 스레드에서 쓰므로 공정 대기열 소유자는 요청 스레드에서 구함
+        ExtractionJobService.FairShareKey owner = extractionJobService.currentFairShareKey();
+        StreamingResponseBody body = out -> batchExtractionService.process(files, archive, owner, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * 비동기 추출 작업 상태 조회
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ExtractionJob> getJob(@PathVariable String jobId) {
+        return extractionJobService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 비동기 추출 작업 취소
+     * 실행 중이면 다음 페이지 경계에서 멈추고 수집된 텍스트로 cancelled 상태의 문서를 저장한다.
+     */
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<?> cancelJob(@PathVariable String jobId) {
+        return extractionJobService.findJob(jobId)
+                .<ResponseEntity<?>>map(job -> extractionJobService.cancel(job)
+                        ? ResponseEntity.accepted().body(job)
+                        : ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body("{\"error\": \"이미 종료된 작업입니다\"}"))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 비동기 추출 작업 진행 상황 구독 (Server-Sent Events)
+     * status, log, progress 이벤트를 발생 순서대로 보내고 마지막에 done 이벤트 후 연결을 닫는다.
+     * 늦게 구독하면 처음부터, Last-Event-ID가 있으면 그 다음 이벤트부터 다시 보낸다.
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobEvents(
+            @PathVariable String jobId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return extractionProgressService.subscribe(jobId, lastEventId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 비동기 추출 작업 결과 조회 (완료 전에는 202 Accepted와 작업 상태 반환)
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable String jobId) {
+        return extractionJobService.findJob(jobId)
+                .<ResponseEntity<?>>map(job -> {
+                    // 취소/시간 초과된 작업도 수집된 부분 결과를 반환
+                    if (job.isFinished() && job.getResult() != null) {
+                        return ResponseEntity.ok(job.getResult());
+                    }
+                    if ("error".equals(job.getStatus())) {
+                        return createErrorResponse("추출 작업 실패: " + job.getErrorMessage(),
+                                HttpStatus.INTERNAL_SERVER_ERROR);
+                    }
+                    return ResponseEntity.accepted().body(job);
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/documents")
@@ -174,16 +390,68 @@ public class FileExtractionController {
         }
     }
 
+    /**
+     * 저장된 원문 텍스트 조회
+     * 조기 종료로 일부 페이지가 빠진 문서는 textComplete=false로 표시되며, 채우려면 POST .../raw-text/complete를 호출한다.
+     */
+    @GetMapping("/documents/{id}/raw-text")
+    public ResponseEntity<?> getRawText(@PathVariable Long id) {
+        return documentService.findById(id)
+                .<ResponseEntity<?>>map(document -> ResponseEntity.ok(rawTextBody(document)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 조기 종료로 생략된 페이지를 저장된 PDF에서 추출해 원문을 채움
+     * PDF 파싱/OCR은 서블릿 스레드와 DB 트랜잭션 밖의 OCR 레인 풀에서 수행한다.
+     */
+    @PostMapping("/documents/{id}/raw-text/complete")
+    public CompletableFuture<ResponseEntity<?>> completeRawText(@PathVariable Long id) {
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return documentService.completeRawText(id);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, extractionThreadPools.cpuExecutor(ExtractionLane.SLOW))
+                .<ResponseEntity<?>>thenApply(document -> ResponseEntity.ok(rawTextBody(document)))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof IllegalArgumentException) {
+                        return ResponseEntity.notFound().build();
+                    }
+                    log.error("전체 원문 텍스트 추출 실패: {}", id, cause);
+                    return createErrorResponse("전체 원문 텍스트 추출 중 오류 발생", HttpStatus.INTERNAL_SERVER_ERROR);
+                });
+    }
+
+    private static Map<String, Object> rawTextBody(Document document) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("docId", document.getDocId());
+        body.put("textComplete", !Boolean.FALSE.equals(document.getTextComplete()));
+        body.put("rawText", document.getRawText());
+        return body;
+    }
+
     /**
      * 문서 재처리 요청
+     * @param mode fields인 경우 저장된 원문으로 필드만 즉시 재추출하고 갱신된 문서를 반환
      */
     @PostMapping("/documents/{id}/reprocess")
-    public ResponseEntity<?> reprocessDocument(@PathVariable Long id) {
+    public ResponseEntity<?> reprocessDocument(
+            @PathVariable Long id,
+            @RequestParam(value = "mode", defaultValue = "full") String mode) {
         try {
+            if ("fields".equalsIgnoreCase(mode)) {
+                return ResponseEntity.ok(documentReextractionService.reextract(id));
+            }
+
             documentService.markForReprocessing(id);
             return ResponseEntity.ok().body("{\"message\": \"재처리 요청이 완료되었습니다\"}");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("문서 재처리 요청 실패: {}", id, e);
             return ResponseEntity.internalServerError()
@@ -191,6 +459,37 @@ public class FileExtractionController {
         }
     }
 
+    /**
+     * 저장된 원문으로 전체 문서의 필드 일괄 재추출 시작 (추출 규칙 수정 후 사용)
+     * 백그라운드에서 실행하고 202 Accepted와 진행 상황을 반환한다. 진행 상황은 GET 같은 경로로 확인한다.
+     * @param status 지정 시 해당 상태의 문서만 재추출 (completed 또는 error)
+     */
+    @PostMapping("/documents/reextract")
+    public ResponseEntity<?> reextractDocuments(@RequestParam(value = "status", required = false) String status) {
+        try {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/extract/documents/reextract"))
+                    .body(documentReextractionService.startReextractAll(status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(documentReextractionService.getBulkProgress());
+        } catch (Exception e) {
+            log.error("필드 일괄 재추출 시작 실패", e);
+            return ResponseEntity.internalServerError()
+                    .body("{\"error\": \"필드 일괄 재추출 중 오류 발생\"}");
+        }
+    }
+
+    /**
+     * 필드 일괄 재추출 진행 상황
+     */
+    @GetMapping("/documents/reextract")
+    public ResponseEntity<Map<String, Object>> getReextractProgress() {
+        return ResponseEntity.ok(documentReextractionService.getBulkProgress());
+    }
+
     /**
      * PDF 파일 제공
      */
@@ -350,7 +649,38 @@ public class FileExtractionController {
         }
     }
 
-    private Path saveTempFile(MultipartFile file) throws IOException {
+    private ResponseEntity<?> submitExtractionJob(MultipartFile file) {
+        Path tempFilePath = null;
+
+        try {
+            TempUpload upload = saveTempFile(file);
+            tempFilePath = upload.path();
+            ExtractionJob job = extractionJobService.submit(tempFilePath, file.getOriginalFilename(), upload.sha256());
+
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/extract/jobs/" + job.getJobId()))
+                    .body(job);
+
+        } catch (ExtractionRejectedException e) {
+            log.warn("추출 작업 큐 포화: {}", file.getOriginalFilename());
+            cleanupTempFile(tempFilePath);
+            return createRejectedResponse(e);
+
+        } catch (InvalidPdfException e) {
+            cleanupTempFile(tempFilePath);
+            return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+
+        } catch (IOException e) {
+            log.error("파일 저장 실패: {}", file.getOriginalFilename(), e);
+            cleanupTempFile(tempFilePath);
+            return createErrorResponse("파일 저장 중 오류 발생", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 업로드 스트림을 임시 파일로 쓰면서 SHA-256 계산 (파일을 다시 읽지 않음)
+     */
+    private TempUpload saveTempFile(MultipartFile file) throws IOException {
         Path uploadPath = Paths.get(UPLOAD_DIR);
         if (!Files.exists(uploadPath)) {
             Files.createDirectories(uploadPath);
@@ -359,22 +689,31 @@ public class FileExtractionController {
         String uniqueFilename = UUID.randomUUID() + "_" + file.getOriginalFilename();
         Path filePath = uploadPath.resolve(uniqueFilename);
 
-        file.transferTo(filePath);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, filePath);
+        }
         log.debug("임시 파일 저장: {}", filePath);
 
-        return filePath;
+        return new TempUpload(filePath, HexFormat.of().formatHex(digest.digest()));
     }
 
-    private Path saveStoredFile(MultipartFile file, String docId) throws IOException {
+    private Path saveStoredFile(Path tempFile, String originalFilename, String docId) throws IOException {
         Path storedPath = Paths.get(STORED_DIR);
         if (!Files.exists(storedPath)) {
             Files.createDirectories(storedPath);
         }
 
-        String storedFilename = docId + "_" + file.getOriginalFilename();
+        String storedFilename = docId + "_" + originalFilename;
         Path filePath = storedPath.resolve(storedFilename);
 
-        file.transferTo(filePath);
+        Files.copy(tempFile, filePath);
         log.info("영구 파일 저장: {}", filePath);
 
         return filePath;
@@ -405,6 +744,9 @@ public class FileExtractionController {
         return false;
     }
 
+    private record TempUpload(Path path, String sha256) {
+    }
+
     private ResponseEntity<ExtractionResult> createErrorResponse(String message, HttpStatus status) {
         ExtractionResult errorResult = new ExtractionResult();
         errorResult.setStatus("error");
@@ -413,4 +755,18 @@ public class FileExtractionController {
 
         return new ResponseEntity<>(errorResult, status);
     }
+
+    /**
+     * 처리 용량 초과 응답 (429 + Retry-After)
+     */
+    private ResponseEntity<ExtractionResult> createRejectedResponse(ExtractionRejectedException e) {
+        ExtractionResult errorResult = new ExtractionResult();
+        errorResult.setStatus("error");
+        errorResult.setConfidence(0.0);
+        errorResult.addLog("ERROR", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResult);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.securedoc.extractor.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * 일괄 업로드 결과 스트림(NDJSON)의 파일별 결과 한 줄
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private final String type = "item";
+
+    // 배치 안에서의 순번 (처리 완료 순서로 전송되므로 순서 확인용)
+    private int index;
+    private String fileName;
+
+    // completed, pending-ocr (텍스트 레이어만 저장, OCR은 백그라운드에서 완료), error, skipped
+    private String status;
+    private String docId;
+    private Double confidence;
+    private long bytes;
+    private long elapsedMs;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.securedoc.extractor.dto;
+
+import lombok.Data;
+
+/**
+ * 일괄 업로드 결과 스트림(NDJSON)의 마지막 줄 (배치 요약)
+ */
+@Data
+public class BatchSummary {
+
+    private final String type = "summary";
+
+    private int files;
+    private int succeeded;
+    // 과부하로 OCR을 미루고 텍스트 레이어만 저장한 파일 (실패가 아님)
+    private int pendingOcr;
+    private int failed;
+    private int skipped;
+    private long totalBytes;
+    private long elapsedMs;
+    private double filesPerSecond;
+    private double megabytesPerSecond;
+}
@@ -0,0 +1,20 @@
+package com.securedoc.extractor.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 추출 처리 용량 초과로 요청을 받지 않음 (429 Too Many Requests + Retry-After)
+ */
+public class ExtractionRejectedException extends RejectedExecutionException {
+
+    private final long retryAfterSeconds;
+
+    public ExtractionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,21 @@
+package com.securedoc.extractor.exception;
+
+import java.io.IOException;
+
+/**
+ * 사전 검사에서 PDF로 처리할 수 없다고 판단한 파일 (400 Bad Request)
+ * reason은 메트릭 태그로 쓰는 짧은 원인 코드 (not-pdf, truncated, encrypted, no-pages 등)
+ */
+public class InvalidPdfException extends IOException {
+
+    private final String reason;
+
+    public InvalidPdfException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -1,5 +1,6 @@
 package com.securedoc.extractor.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -11,7 +12,8 @@ import java.time.LocalDateTime;
 @Table(name = "documents", indexes = {
     @Index(name = "idx_doc_id", columnList = "docId"),
     @Index(name = "idx_created_at", columnList = "createdAt"),
-    @Index(name = "idx_status", columnList = "status")
+    @Index(name = "idx_status", columnList = "status"),
+    @Index(name = "idx_rules_version", columnList = "rulesVersion")
 })
 @Data
 @NoArgsConstructor
@@ -32,6 +34,9 @@ public class Document {
     @Column(columnDefinition = "TEXT")
     private String rawText;
 
+    // false: 조기 종료로 일부 페이지가 rawText에 빠져 있음 (null은 기존 문서로 완전한 것으로 간주)
+    private Boolean textComplete;
+
     private String contractorA;
     private String contractorB;
     private String startDate;
@@ -39,12 +44,25 @@ public class Document {
     private Long amount;
     private Double confidence;
 
+    // 필드를 추출한 규칙 버전 (PdfExtractionService.RULES_VERSION, null은 버전 도입 전 문서)
+    private Integer rulesVersion;
+
+    // true: 검증 화면에서 사람이 필드를 수정/확인함 (규칙 재추출이 필드를 덮어쓰지 않음, null은 수정 이력 없음)
+    private Boolean manuallyEdited;
+
     @Column(nullable = false)
     private String status;
 
     @Column
     private String filePath;
 
+    // 재처리 작업을 가져간 노드와 시각 (pending -> processing 조건부 갱신으로 한 노드만 설정)
+    @JsonIgnore
+    private String claimedBy;
+
+    @JsonIgnore
+    private LocalDateTime claimedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
@@ -0,0 +1,63 @@
+package com.securedoc.extractor.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일 내용(SHA-256) 기준 추출 결과 캐시
+ * 추출 규칙 버전이 바뀌면 같은 파일이라도 새로 추출한다.
+ */
+@Entity
+@Table(name = "extraction_cache",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cache_hash_rules",
+                columnNames = {"contentHash", "rulesVersion"}))
+@Data
+@NoArgsConstructor
+public class ExtractionCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private int rulesVersion;
+
+    private int totalPages;
+
+    @Column(columnDefinition = "TEXT")
+    private String rawText;
+
+    private boolean textComplete;
+
+    private String contractorA;
+    private String contractorB;
+    private String startDate;
+    private String endDate;
+    private long amount;
+    private double confidence;
+
+    @Column(nullable = false)
+    private String status;
+
+    // 처음 업로드될 때 저장된 PDF 위치 (이후 업로드는 이 파일을 공유)
+    @Column(nullable = false)
+    private String filePath;
+
+    private long hitCount;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastHitAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.securedoc.extractor.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 추출 작업 상태 (메모리 보관)
+ */
+@Data
+@NoArgsConstructor
+public class ExtractionJob {
+
+    private String jobId;
+    private String fileName;
+
+    // queued -> running -> completed / error / cancelled / timeout
+    private String status = "queued";
+    private String docId;
+    private String errorMessage;
+
+    // 처리 레인 (fast: 텍스트 레이어 문서, slow: OCR 문서)
+    private String lane;
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @JsonIgnore
+    private ExtractionResult result;
+
+    public ExtractionJob(String jobId, String fileName) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return "completed".equals(status) || "error".equals(status)
+                || "cancelled".equals(status) || "timeout".equals(status);
+    }
+}
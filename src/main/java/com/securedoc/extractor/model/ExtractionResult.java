@@ -1,5 +1,6 @@
 package com.securedoc.extractor.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -22,11 +23,66 @@ public class ExtractionResult {
     private long amount = -1; // -1은 추출 실패를 의미
     private double confidence = 0.0;
 
+    // 조기 종료로 일부 OCR 페이지를 건너뛴 경우 false
+    private boolean textComplete = true;
+
     private String status = "processing";
     private String filePath;
     private List<ExtractionLog> logs = new ArrayList<>();
 
+    // 진행 상황을 실시간으로 전달받을 리스너 (SSE 등, 응답에는 포함하지 않음)
+    @JsonIgnore
+    private transient ExtractionListener listener;
+
+    @JsonIgnore
+    private transient int ocrPagesTotal;
+
+    @JsonIgnore
+    private transient int ocrPagesCompleted;
+
+    /**
+     * 로그 추가 (OCR 워커 스레드에서도 호출됨)
+     */
     public void addLog(String level, String message) {
-        this.logs.add(new ExtractionLog(level, message));
+        ExtractionLog entry = new ExtractionLog(level, message);
+        synchronized (this) {
+            this.logs.add(entry);
+        }
+        if (listener != null) {
+            listener.onLog(entry);
+        }
+    }
+
+    /**
+     * OCR 대상 페이지 수 설정 (진행률 기준)
+     */
+    public synchronized void beginOcrProgress(int totalPages) {
+        this.ocrPagesTotal = totalPages;
+        this.ocrPagesCompleted = 0;
+    }
+
+    /**
+     * OCR 페이지 하나 완료 (성공/실패 무관)
+     */
+    public void ocrPageCompleted() {
+        int completed;
+        int total;
+        synchronized (this) {
+            completed = ++ocrPagesCompleted;
+            total = Math.max(ocrPagesTotal, completed);
+        }
+        if (listener != null) {
+            listener.onPageProgress(completed, total);
+        }
+    }
+
+    /**
+     * 추출 진행 상황 리스너
+     */
+    public interface ExtractionListener {
+
+        void onLog(ExtractionLog log);
+
+        void onPageProgress(int completed, int total);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,15 @@
 package com.securedoc.extractor.repository;
 
 import com.securedoc.extractor.model.Document;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +25,85 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     long countByCreatedAtAfter(LocalDateTime dateTime);
 
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    long countByFilePath(String filePath);
+
+    long countByStatus(String status);
+
+    // 원문 재추출용 ID 순 배치 조회 (사람이 수정한 문서 제외)
+    @Query("SELECT d FROM Document d WHERE d.id > :fromId AND d.rawText IS NOT NULL " +
+            "AND d.status IN :statuses " +
+            "AND (d.manuallyEdited IS NULL OR d.manuallyEdited = false) ORDER BY d.id")
+    List<Document> findReextractableDocuments(@Param("fromId") Long fromId,
+                                              @Param("statuses") Collection<String> statuses,
+                                              Pageable pageable);
+
+    // 현재 규칙 버전보다 오래된 규칙으로 추출된 문서 (ID 순)
+    // 사람이 수정한 문서와 전체 재처리를 기다리거나 진행 중인 문서는 제외
+    @Query("SELECT d FROM Document d WHERE d.id > :fromId AND d.rawText IS NOT NULL " +
+            "AND (d.rulesVersion IS NULL OR d.rulesVersion < :version) " +
+            "AND (d.manuallyEdited IS NULL OR d.manuallyEdited = false) " +
+            "AND d.status NOT IN ('pending', 'processing', 'pending-ocr') ORDER BY d.id")
+    List<Document> findStaleDocuments(@Param("fromId") Long fromId, @Param("version") int version,
+                                      Pageable pageable);
+
+    @Query("SELECT COUNT(d) FROM Document d WHERE d.rawText IS NOT NULL " +
+            "AND (d.rulesVersion IS NULL OR d.rulesVersion < :version) " +
+            "AND (d.manuallyEdited IS NULL OR d.manuallyEdited = false) " +
+            "AND d.status NOT IN ('pending', 'processing', 'pending-ocr')")
+    long countStaleDocuments(@Param("version") int version);
+
+    // 원문 재추출 결과를 필드 열과 규칙 버전에만 기록 (엔티티 전체를 다시 쓰지 않음)
+    // 읽은 뒤 사람이 수정했거나, 상태가 바뀌었거나(재처리 대기/처리 중 등), 다른 갱신이 먼저 반영된 문서는 건너뜀 (0 반환)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Document d SET d.contractorA = :contractorA, d.contractorB = :contractorB, " +
+            "d.startDate = :startDate, d.endDate = :endDate, d.amount = :amount, d.confidence = :confidence, " +
+            "d.rulesVersion = :version, d.updatedAt = :now " +
+            "WHERE d.id = :id AND d.status = :status " +
+            "AND (d.manuallyEdited IS NULL OR d.manuallyEdited = false) " +
+            "AND (d.updatedAt = :updatedAt OR (:updatedAt IS NULL AND d.updatedAt IS NULL))")
+    int applyReextractedFields(@Param("id") Long id, @Param("status") String status,
+                               @Param("updatedAt") LocalDateTime updatedAt,
+                               @Param("contractorA") String contractorA, @Param("contractorB") String contractorB,
+                               @Param("startDate") String startDate, @Param("endDate") String endDate,
+                               @Param("amount") Long amount, @Param("confidence") Double confidence,
+                               @Param("version") int version, @Param("now") LocalDateTime now);
+
+    // 사람이 수정한 문서는 필드를 그대로 두고 규칙 버전만 기록
+    @Modifying
+    @Query("UPDATE Document d SET d.rulesVersion = :version WHERE d.manuallyEdited = true " +
+            "AND (d.rulesVersion IS NULL OR d.rulesVersion < :version)")
+    int stampManuallyEditedDocuments(@Param("version") int version);
+
+    // 재처리 대기 문서 ID (오래 기다린 순)
+    @Query("SELECT d.id FROM Document d WHERE d.status = 'pending' ORDER BY d.updatedAt, d.id")
+    List<Long> findPendingIds(Pageable pageable);
+
+    // 대기 상태일 때만 처리 중으로 전환 (여러 노드가 동시에 시도해도 한 곳만 1을 반환)
+    @Modifying
+    @Query("UPDATE Document d SET d.status = 'processing', d.claimedBy = :node, d.claimedAt = :now " +
+            "WHERE d.id = :id AND d.status = 'pending'")
+    int claimPending(@Param("id") Long id, @Param("node") String node, @Param("now") LocalDateTime now);
+
+    // 과부하로 OCR을 미룬 문서 ID (오래 기다린 순)
+    @Query("SELECT d.id FROM Document d WHERE d.status = 'pending-ocr' ORDER BY d.updatedAt, d.id")
+    List<Long> findPendingOcrIds(Pageable pageable);
+
+    // OCR 대기 상태일 때만 처리 중으로 전환
+    @Modifying
+    @Query("UPDATE Document d SET d.status = 'processing', d.claimedBy = :node, d.claimedAt = :now " +
+            "WHERE d.id = :id AND d.status = 'pending-ocr'")
+    int claimPendingOcr(@Param("id") Long id, @Param("node") String node, @Param("now") LocalDateTime now);
+
+    // 생략된 페이지까지 채운 원문 저장 (이미 채워진 문서는 건드리지 않음)
+    @Modifying
+    @Query("UPDATE Document d SET d.rawText = :rawText, d.textComplete = true " +
+            "WHERE d.id = :id AND d.textComplete = false")
+    int completeRawText(@Param("id") Long id, @Param("rawText") String rawText);
+
+    // 처리 도중 노드가 종료되어 오래 남은 작업을 다시 대기 상태로 되돌림
+    @Modifying
+    @Query("UPDATE Document d SET d.status = 'pending', d.claimedBy = NULL, d.claimedAt = NULL " +
+            "WHERE d.status = 'processing' AND d.claimedAt < :cutoff")
+    int releaseExpiredClaims(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,15 @@
+package com.securedoc.extractor.repository;
+
+import com.securedoc.extractor.model.ExtractionCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExtractionCacheRepository extends JpaRepository<ExtractionCacheEntry, Long> {
+
+    Optional<ExtractionCacheEntry> findByContentHashAndRulesVersion(String contentHash, int rulesVersion);
+
+    void deleteByFilePath(String filePath);
+}
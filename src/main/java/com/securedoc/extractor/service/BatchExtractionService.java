@@ -0,0 +1,409 @@
+package com.securedoc.extractor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securedoc.extractor.dto.BatchItemResult;
+import com.securedoc.extractor.dto.BatchSummary;
+import com.securedoc.extractor.exception.ExtractionRejectedException;
+import com.securedoc.extractor.exception.InvalidPdfException;
+import com.securedoc.extractor.model.ExtractionResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 여러 PDF 또는 ZIP 아카이브 일괄 추출
+ * ZIP은 디스크에 풀지 않고 스트림으로 읽으며, 항목마다 임시 파일 하나만 만들어 업로드한 사용자의 공정 대기열로
+ * 비동기 작업과 같은 레인 워커 풀에서 추출한다. 큰 배치도 다른 사용자의 작업과 가중치에 따라 번갈아 실행된다.
+ * 파일별 결과는 끝나는 대로 NDJSON 한 줄씩 전송하고, 마지막 줄에 배치 요약을 보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchExtractionService {
+
+    private static final String UPLOAD_DIR = "uploaded_files/";
+    private static final long MAX_FILE_SIZE = 50 * 1024 * 1024;
+
+    private final ExtractionJobService extractionJobService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // 배치 하나가 공정 대기열에 동시에 올려 두는 파일 수 (이 값의 2배, 실제 동시 실행 수는 레인 워커 수로 제한)
+    @Value("${extraction.batch.workers:4}")
+    private int workers;
+
+    // 배치(ZIP 포함) 하나에 허용하는 최대 파일 수
+    @Value("${extraction.batch.max-files:10000}")
+    private int maxFiles;
+
+    // ZIP 항목 이름 인코딩 (UTF-8 플래그가 없는 Windows 압축 파일은 MS949)
+    @Value("${extraction.batch.zip-charset:UTF-8}")
+    private String zipCharset;
+
+    private Timer fileTimer;
+    private Counter completedCounter;
+    private Counter pendingOcrCounter;
+    private Counter failedCounter;
+    private Counter bytesCounter;
+
+    @PostConstruct
+    public void init() {
+        fileTimer = Timer.builder("extraction.batch.file")
+                .description("일괄 업로드 파일당 추출 시간 (공정 대기열 대기 포함)")
+                .register(meterRegistry);
+        completedCounter = Counter.builder("extraction.batch.files")
+                .tag("result", "completed")
+                .description("일괄 업로드로 처리한 파일 수")
+                .register(meterRegistry);
+        pendingOcrCounter = Counter.builder("extraction.batch.files")
+                .tag("result", ExtractionControl.PENDING_OCR)
+                .description("일괄 업로드로 처리한 파일 수")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("extraction.batch.files")
+                .tag("result", "error")
+                .description("일괄 업로드로 처리한 파일 수")
+                .register(meterRegistry);
+        bytesCounter = Counter.builder("extraction.batch.bytes")
+                .description("일괄 업로드로 읽은 PDF 바이트 수")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 업로드된 PDF 목록과 ZIP 아카이브를 추출하며 결과를 out에 NDJSON으로 기록
+     * @param owner 요청 스레드에서 구한 업로드 사용자 (응답 스트림은 다른 스레드에서 쓰므로 미리 받아 둠)
+     */
+    public void process(List<MultipartFile> files, MultipartFile archive, ExtractionJobService.FairShareKey owner,
+                        OutputStream out) throws IOException {
+        BatchRun run = new BatchRun(owner, out);
+
+        try {
+            if (files != null) {
+                for (MultipartFile file : files) {
+                    if (run.isFull()) {
+                        break;
+                    }
+                    if (!file.isEmpty()) {
+                        try (InputStream in = file.getInputStream()) {
+                            run.add(file.getOriginalFilename(), in);
+                        }
+                    }
+                }
+            }
+
+            if (archive != null && !archive.isEmpty()) {
+                readArchive(archive, run);
+            }
+
+            run.drainAll();
+            run.finish();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("일괄 추출이 중단되었습니다", e);
+        }
+    }
+
+    /**
+     * ZIP을 디스크에 풀지 않고 항목 순서대로 읽어 처리
+     * 아카이브가 손상된 경우 그때까지 읽은 항목은 그대로 처리하고 오류 한 줄을 남긴다.
+     */
+    private void readArchive(MultipartFile archive, BatchRun run) throws IOException, InterruptedException {
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream(), Charset.forName(zipCharset))) {
+            ZipEntry entry;
+            while (!run.isFull() && (entry = zip.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    run.add(entry.getName(), zip);
+                }
+                zip.closeEntry();
+            }
+        } catch (ZipException | IllegalArgumentException e) {
+            log.warn("ZIP 아카이브 읽기 실패: {}", archive.getOriginalFilename(), e);
+            run.reject(archive.getOriginalFilename(), "error", "ZIP 파일을 읽을 수 없습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 배치 하나의 진행 상태
+     * 동시에 처리 중인 파일 수를 워커 수의 2배로 제한해 임시 파일이 무한히 쌓이지 않게 한다.
+     */
+    private class BatchRun {
+
+        private final ExtractionJobService.FairShareKey owner;
+        private final OutputStream out;
+        // 레인 워커가 끝낸 파일의 결과 (응답 스트림 쓰기는 이 배치의 스레드에서만 수행)
+        private final BlockingQueue<BatchItemResult> results = new LinkedBlockingQueue<>();
+        private final int maxInFlight = Math.max(1, workers) * 2;
+        private final long startedNanos = System.nanoTime();
+        private final BatchSummary summary = new BatchSummary();
+
+        private int nextIndex;
+        private int inFlight;
+        private boolean full;
+
+        BatchRun(ExtractionJobService.FairShareKey owner, OutputStream out) {
+            this.owner = owner;
+            this.out = out;
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
+        void add(String entryName, InputStream in) throws IOException, InterruptedException {
+            String fileName = baseName(entryName);
+
+            if (nextIndex >= maxFiles) {
+                // 초과분은 더 읽지 않고 한 줄만 남김
+                full = true;
+                reject(fileName, "skipped", "배치당 최대 파일 수(" + maxFiles + ")를 초과해 나머지 파일을 건너뜁니다");
+                return;
+            }
+            if (fileName.isEmpty() || fileName.startsWith(".") || !fileName.toLowerCase().endsWith(".pdf")) {
+                reject(fileName, "skipped", "PDF 파일이 아닙니다");
+                return;
+            }
+
+            int index = nextIndex++;
+
+            // 다음 파일을 읽기 전에 끝난 결과를 먼저 전송
+            while (inFlight >= maxInFlight) {
+                drainOne();
+            }
+
+            TempEntry temp;
+            try {
+                temp = copyToTemp(fileName, in);
+            } catch (ZipException e) {
+                throw e;
+            } catch (IOException e) {
+                write(rejected(index, fileName, "error", e.getMessage()));
+                return;
+            }
+            summary.setTotalBytes(summary.getTotalBytes() + temp.bytes());
+            bytesCounter.increment(temp.bytes());
+
+            submit(index, fileName, temp);
+        }
+
+        /**
+         * 공정 대기열에 파일 하나를 등록
+         * 대기열이 가득 차면 이 배치의 끝난 결과를 먼저 전송하며 자리가 날 때까지 다시 시도한다.
+         */
+        private void submit(int index, String fileName, TempEntry temp) throws IOException, InterruptedException {
+            long submittedNanos = System.nanoTime();
+            while (true) {
+                try {
+                    extractionJobService.submitEntry(temp.path(), fileName, temp.sha256(), owner)
+                            .whenComplete((result, error) ->
+                                    results.add(toItem(index, fileName, temp, result, error, submittedNanos)));
+                    inFlight++;
+                    return;
+                } catch (ExtractionRejectedException e) {
+                    if (inFlight > 0) {
+                        drainOne();
+                    } else {
+                        // 다른 사용자의 작업으로 대기열이 가득 찬 경우
+                        TimeUnit.SECONDS.sleep(Math.min(Math.max(e.getRetryAfterSeconds(), 1), 5));
+                    }
+                } catch (InvalidPdfException | RuntimeException e) {
+                    write(toItem(index, fileName, temp, null, e, submittedNanos));
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 추출하지 않는 파일의 결과를 바로 전송
+         */
+        void reject(String fileName, String status, String reason) throws IOException {
+            write(rejected(nextIndex++, fileName, status, reason));
+        }
+
+        void drainAll() throws IOException, InterruptedException {
+            while (inFlight > 0) {
+                drainOne();
+            }
+        }
+
+        private void drainOne() throws IOException, InterruptedException {
+            BatchItemResult item = results.take();
+            inFlight--;
+            write(item);
+        }
+
+        private void write(BatchItemResult item) throws IOException {
+            summary.setFiles(summary.getFiles() + 1);
+            switch (item.getStatus()) {
+                case "completed" -> summary.setSucceeded(summary.getSucceeded() + 1);
+                case ExtractionControl.PENDING_OCR -> summary.setPendingOcr(summary.getPendingOcr() + 1);
+                case "skipped" -> summary.setSkipped(summary.getSkipped() + 1);
+                default -> summary.setFailed(summary.getFailed() + 1);
+            }
+            writeLine(item);
+        }
+
+        private void writeLine(Object line) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        }
+
+        void finish() throws IOException {
+            long elapsedNanos = System.nanoTime() - startedNanos;
+            double seconds = Math.max(elapsedNanos / 1_000_000_000.0, 0.001);
+
+            summary.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            summary.setFilesPerSecond(Math.round(summary.getFiles() / seconds * 100) / 100.0);
+            summary.setMegabytesPerSecond(
+                    Math.round(summary.getTotalBytes() / 1024.0 / 1024.0 / seconds * 100) / 100.0);
+
+            log.info("일괄 추출 완료: {}개 파일 (성공 {}, OCR 대기 {}, 실패 {}, 건너뜀 {}), {} bytes, {}ms",
+                    summary.getFiles(), summary.getSucceeded(), summary.getPendingOcr(), summary.getFailed(),
+                    summary.getSkipped(),
+                    summary.getTotalBytes(), summary.getElapsedMs());
+
+            writeLine(summary);
+        }
+    }
+
+    /**
+     * 추출 결과(또는 실패 원인)를 결과 한 줄로 변환하고 임시 파일 정리
+     */
+    private BatchItemResult toItem(int index, String fileName, TempEntry temp, ExtractionResult result,
+                                   Throwable error, long startedNanos) {
+        BatchItemResult item = new BatchItemResult();
+        item.setIndex(index);
+        item.setFileName(fileName);
+        item.setBytes(temp.bytes());
+
+        try {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                log.error("일괄 추출 파일 처리 실패: {}", fileName, cause);
+                item.setStatus("error");
+                item.setError(cause.getMessage());
+            } else {
+                boolean succeeded = "completed".equals(result.getStatus())
+                        || ExtractionControl.PENDING_OCR.equals(result.getStatus());
+                item.setStatus(succeeded ? result.getStatus() : "error");
+                item.setDocId(result.getDocId());
+                item.setConfidence(result.getConfidence());
+                if (!succeeded && !result.getLogs().isEmpty()) {
+                    item.setError(result.getLogs().get(result.getLogs().size() - 1).getMessage());
+                }
+            }
+        } finally {
+            deleteQuietly(temp.path());
+            long elapsedNanos = System.nanoTime() - startedNanos;
+            item.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            fileTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if ("completed".equals(item.getStatus())) {
+            completedCounter.increment();
+        } else if (ExtractionControl.PENDING_OCR.equals(item.getStatus())) {
+            pendingOcrCounter.increment();
+        } else {
+            failedCounter.increment();
+        }
+        return item;
+    }
+
+    /**
+     * 항목 스트림을 임시 파일로 쓰면서 SHA-256 계산 (파일 크기 제한 초과 시 중단)
+     */
+    private TempEntry copyToTemp(String fileName, InputStream in) throws IOException {
+        Path uploadPath = Paths.get(UPLOAD_DIR);
+        if (!Files.exists(uploadPath)) {
+            Files.createDirectories(uploadPath);
+        }
+        Path filePath = uploadPath.resolve(UUID.randomUUID() + "_" + fileName);
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+
+        long bytes = 0;
+        byte[] buffer = new byte[8192];
+        // ZipInputStream은 항목 끝에서 -1을 반환하므로 호출자의 스트림을 닫지 않음
+        DigestInputStream digestIn = new DigestInputStream(in, digest);
+        try (OutputStream fileOut = Files.newOutputStream(filePath)) {
+            int read;
+            while ((read = digestIn.read(buffer)) != -1) {
+                bytes += read;
+                if (bytes > MAX_FILE_SIZE) {
+                    throw new IOException("파일 크기가 50MB를 초과합니다");
+                }
+                fileOut.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            deleteQuietly(filePath);
+            throw e;
+        }
+
+        return new TempEntry(filePath, HexFormat.of().formatHex(digest.digest()), bytes);
+    }
+
+    private static BatchItemResult rejected(int index, String fileName, String status, String reason) {
+        BatchItemResult item = new BatchItemResult();
+        item.setIndex(index);
+        item.setFileName(fileName);
+        item.setStatus(status);
+        item.setError(reason);
+        return item;
+    }
+
+    /**
+     * ZIP 항목 경로에서 파일명만 사용 (저장 경로 조작 방지)
+     */
+    private static String baseName(String entryName) {
+        if (entryName == null) {
+            return "";
+        }
+        String name = entryName.replace('\\', '/');
+        return name.substring(name.lastIndexOf('/') + 1).trim();
+    }
+
+    private void deleteQuietly(Path filePath) {
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", filePath, e);
+        }
+    }
+
+    private record TempEntry(Path path, String sha256, long bytes) {
+    }
+}
@@ -0,0 +1,297 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.model.ExtractionResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 디렉터리 트리의 PDF 일괄 수집 (bulk-ingest 프로필 전용)
+ * 파일을 워커 풀에서 병렬로 추출하고, 결과를 배치 단위로 한 트랜잭션에 저장한다.
+ * 저장이 커밋된 파일의 상대 경로를 체크포인트 파일에 덧붙이므로, 중단 후 다시 실행하면 남은 파일부터 처리한다.
+ * 커밋 직후 체크포인트를 쓰기 전에 프로세스가 죽으면 마지막 배치 하나는 다시 수집될 수 있다.
+ */
+@Service
+@Profile("bulk-ingest")
+@RequiredArgsConstructor
+@Slf4j
+public class BulkIngestService {
+
+    private static final String STORED_DIR = "stored_documents/";
+
+    private final PdfExtractionService pdfExtractionService;
+    private final DocumentService documentService;
+
+    @Value("${bulk-ingest.workers:0}")
+    private int workers;
+
+    // 한 트랜잭션으로 저장하는 문서 수
+    @Value("${bulk-ingest.batch-size:200}")
+    private int batchSize;
+
+    @Value("${bulk-ingest.checkpoint-file:bulk_ingest.checkpoint}")
+    private String checkpointFile;
+
+    /**
+     * root 아래의 모든 PDF 수집
+     */
+    public Report ingest(Path root) throws IOException, InterruptedException {
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("디렉터리가 아닙니다: " + root);
+        }
+
+        int workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        Path checkpoint = Paths.get(checkpointFile);
+        Set<String> done = loadCheckpoint(checkpoint);
+        log.info("일괄 수집 시작: {} (workers={}, batchSize={}, 체크포인트 {}건)",
+                root, workerCount, batchSize, done.size());
+
+        Files.createDirectories(Paths.get(STORED_DIR));
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-ingest-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Run run = new Run(root, executor, workerCount * 2, checkpoint);
+        try (Stream<Path> paths = Files.walk(root);
+             BufferedWriter checkpointWriter = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            run.checkpointWriter = checkpointWriter;
+
+            Iterator<Path> iterator = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().toLowerCase().endsWith(".pdf"))
+                    .iterator();
+
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String relativePath = root.relativize(file).toString();
+                if (done.contains(relativePath)) {
+                    run.skipped++;
+                    continue;
+                }
+                run.submit(file, relativePath);
+            }
+            run.drainAll();
+            run.flush();
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Report report = run.report();
+        log.info("일괄 수집 완료: {}", report);
+        return report;
+    }
+
+    private Set<String> loadCheckpoint(Path checkpoint) throws IOException {
+        Set<String> done = new HashSet<>();
+        if (Files.exists(checkpoint)) {
+            try (Stream<String> lines = Files.lines(checkpoint, StandardCharsets.UTF_8)) {
+                lines.filter(line -> !line.isBlank()).forEach(done::add);
+            }
+        }
+        return done;
+    }
+
+    /**
+     * 파일 하나 추출 후 영구 저장소로 복사 (DB 저장은 배치에서 수행)
+     */
+    private Item extract(Path file, String relativePath) {
+        long startedNanos = System.nanoTime();
+        Path storedFile = null;
+        try {
+            ExtractionResult result = pdfExtractionService.processPdfFile(file.toFile());
+            result.setFileName(file.getFileName().toString());
+
+            storedFile = Paths.get(STORED_DIR).resolve(result.getDocId() + "_" + result.getFileName());
+            Files.copy(file, storedFile);
+            result.setFilePath(storedFile.toString());
+
+            return new Item(relativePath, result, Files.size(file), System.nanoTime() - startedNanos);
+
+        } catch (Exception e) {
+            log.warn("일괄 수집 파일 처리 실패: {}", relativePath, e);
+            deleteQuietly(storedFile);
+            return new Item(relativePath, null, 0, System.nanoTime() - startedNanos);
+        }
+    }
+
+    private void deleteQuietly(Path filePath) {
+        if (filePath != null) {
+            try {
+                Files.deleteIfExists(filePath);
+            } catch (IOException e) {
+                log.warn("파일 삭제 실패: {}", filePath, e);
+            }
+        }
+    }
+
+    /**
+     * 수집 진행 상태 (호출 스레드에서만 사용)
+     */
+    private class Run {
+
+        private final Path root;
+        private final CompletionService<Item> completionService;
+        private final int maxInFlight;
+        private final Path checkpoint;
+        private final long startedNanos = System.nanoTime();
+
+        private final List<Item> pending = new ArrayList<>();
+        private long[] latencies = new long[1024];
+        private BufferedWriter checkpointWriter;
+        private int inFlight;
+        private int submitted;
+        private int saved;
+        private int extractionErrors;
+        private int failed;
+        private int skipped;
+        private long totalBytes;
+        private int latencyCount;
+
+        Run(Path root, ExecutorService executor, int maxInFlight, Path checkpoint) {
+            this.root = root;
+            this.completionService = new ExecutorCompletionService<>(executor);
+            this.maxInFlight = maxInFlight;
+            this.checkpoint = checkpoint;
+        }
+
+        void submit(Path file, String relativePath) throws IOException, InterruptedException {
+            while (inFlight >= maxInFlight) {
+                collectOne();
+            }
+            completionService.submit(() -> extract(file, relativePath));
+            inFlight++;
+            submitted++;
+        }
+
+        void drainAll() throws IOException, InterruptedException {
+            while (inFlight > 0) {
+                collectOne();
+            }
+        }
+
+        private void collectOne() throws IOException, InterruptedException {
+            Item item;
+            try {
+                item = completionService.take().get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("일괄 수집 작업 실패", e.getCause());
+            } finally {
+                inFlight--;
+            }
+
+            recordLatency(item.elapsedNanos());
+            if (item.result() == null) {
+                // 다음 실행에서 다시 시도하도록 체크포인트에 남기지 않음
+                failed++;
+                return;
+            }
+
+            pending.add(item);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * 모인 결과를 한 트랜잭션으로 저장한 뒤 체크포인트 기록
+         */
+        void flush() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            documentService.saveExtractionResults(pending.stream().map(Item::result).toList());
+
+            for (Item item : pending) {
+                checkpointWriter.write(item.relativePath());
+                checkpointWriter.newLine();
+                totalBytes += item.bytes();
+                if (!"completed".equals(item.result().getStatus())) {
+                    extractionErrors++;
+                }
+            }
+            checkpointWriter.flush();
+            saved += pending.size();
+            pending.clear();
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            log.info("일괄 수집 진행: {}건 저장 / {}건 제출, 실패 {}, {}ms ({} 기준, 체크포인트 {})",
+                    saved, submitted, failed, elapsedMs, root, checkpoint);
+        }
+
+        private void recordLatency(long nanos) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[latencyCount++] = nanos;
+        }
+
+        Report report() {
+            long elapsedNanos = System.nanoTime() - startedNanos;
+            double seconds = Math.max(elapsedNanos / 1_000_000_000.0, 0.001);
+
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+
+            return new Report(saved, extractionErrors, failed, skipped, totalBytes,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    Math.round(saved / seconds * 100) / 100.0,
+                    Math.round(totalBytes / 1024.0 / 1024.0 / seconds * 100) / 100.0,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99),
+                    sorted.length == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]));
+        }
+    }
+
+    private static long percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private record Item(String relativePath, ExtractionResult result, long bytes, long elapsedNanos) {
+    }
+
+    /**
+     * 수집 결과 보고서
+     * @param saved 저장한 문서 수 (extractionErrors 포함)
+     * @param extractionErrors 저장했지만 추출 상태가 error인 문서 수
+     * @param failed 파일을 읽거나 복사하지 못해 저장하지 않은 수 (다음 실행에서 재시도)
+     * @param skipped 체크포인트에 있어 건너뛴 수
+     */
+    public record Report(int saved, int extractionErrors, int failed, int skipped, long totalBytes,
+                         long elapsedMs, double filesPerSecond, double megabytesPerSecond,
+                         long p50Ms, long p95Ms, long p99Ms, long maxMs) {
+    }
+}
@@ -0,0 +1,429 @@
+package com.securedoc.extractor.service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 단일 패스 계약 필드 스캐너
+ * 원문을 한 번만 앞에서부터 훑으며 키워드("이하", "기간", "부터/까지", "금액", "₩" 등) 위치에서
+ * 당사자, 계약 기간, 금액 후보를 동시에 찾는다. 정규화된 사본을 만들지 않고 공백 연속은 공백 하나로 취급하며,
+ * 결과는 RegexContractFieldExtractor(정규화 + 정규식)와 동일하다.
+ * 마감 시각이 지나면 일정 문자마다 확인하여 스캔을 멈추고 끝나지 않은 필드를 timedOut으로 표시한다.
+ */
+public final class ContractFieldScanner {
+
+    private static final int MAX_PARTIES = 2;
+    private static final int MAX_COMPANY_NAME_LENGTH = 30;
+    private static final int DEADLINE_CHECK_MASK = 0xFFF;
+
+    private static final int SEEK_PERIOD = 0;
+    private static final int SEEK_START_DATE = 1;
+    private static final int SEEK_FROM = 2;
+    private static final int SEEK_END_DATE = 3;
+    private static final int SEEK_UNTIL = 4;
+    private static final int DATE_DONE = 5;
+
+    private static final int SEEK_AMOUNT_KEYWORD = 0;
+    private static final int SEEK_AMOUNT_NUMBER = 1;
+    private static final int AMOUNT_DONE = 2;
+
+    private final String text;
+    private final int begin;
+    private final int end;
+    private final long deadlineNanos;
+
+    private final List<ContractFields.Party> parties = new ArrayList<>();
+    private int partyResume;
+
+    private int dateStage = SEEK_PERIOD;
+    private int dateFrom;
+    private String startDate;
+    private String endDate;
+
+    private int amountStage = SEEK_AMOUNT_KEYWORD;
+    private int amountFrom;
+    private String amountPattern1;
+    private String amountPattern2;
+    private String amountPattern3;
+
+    private ContractFieldScanner(String text, long deadlineNanos) {
+        this.text = text;
+        this.deadlineNanos = deadlineNanos;
+
+        // String.trim()과 같은 범위 (앞뒤의 공백/제어 문자 제외)
+        int from = 0;
+        int to = text.length();
+        while (from < to && text.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && text.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        this.begin = from;
+        this.end = to;
+        this.partyResume = from;
+    }
+
+    public static ContractFields scan(String text) {
+        return scan(text, InterruptibleCharSequence.NO_DEADLINE);
+    }
+
+    /**
+     * @param deadlineNanos System.nanoTime() 기준 마감 시각. 넘기면 남은 필드는 timedOut으로 표시된다.
+     */
+    public static ContractFields scan(String text, long deadlineNanos) {
+        return new ContractFieldScanner(text, deadlineNanos).run();
+    }
+
+    private ContractFields run() {
+        Set<ContractFields.Field> timedOut = EnumSet.noneOf(ContractFields.Field.class);
+
+        for (int i = begin; i < end; i++) {
+            if (((i - begin) & DEADLINE_CHECK_MASK) == DEADLINE_CHECK_MASK
+                    && InterruptibleCharSequence.isExpired(deadlineNanos)) {
+                markUnfinished(timedOut);
+                break;
+            }
+            char c = text.charAt(i);
+
+            if (parties.size() < MAX_PARTIES && i >= partyResume) {
+                scanParty(i, c);
+            }
+            if (dateStage != DATE_DONE) {
+                scanDate(i, c);
+            }
+            if (amountStage != AMOUNT_DONE) {
+                scanAmount(i, c);
+            }
+            if (amountPattern2 == null && c == '₩') {
+                amountPattern2 = matchWonSignAmount(i);
+            }
+            if (amountPattern3 == null && c == '(') {
+                amountPattern3 = matchParenthesizedAmount(i);
+            }
+        }
+
+        boolean dateFound = dateStage == DATE_DONE;
+        return new ContractFields(parties,
+                dateFound ? startDate : null,
+                dateFound ? endDate : null,
+                amountPattern1, amountPattern2, amountPattern3, timedOut);
+    }
+
+    private void markUnfinished(Set<ContractFields.Field> timedOut) {
+        if (parties.size() < MAX_PARTIES) {
+            timedOut.add(ContractFields.Field.PARTIES);
+        }
+        if (dateStage != DATE_DONE) {
+            timedOut.add(ContractFields.Field.PERIOD);
+        }
+        // 이미 찾은 금액 패턴이 있으면 그 값을 쓰도록 시간 초과로 표시하지 않음
+        if (amountPattern1 == null && amountPattern2 == null && amountPattern3 == null) {
+            timedOut.add(ContractFields.Field.AMOUNT);
+        }
+    }
+
+    // ===== 계약 당사자: (주식회사|(주)|㈜) 회사명 (이하 "갑"이라 한다) =====
+
+    private void scanParty(int i, char c) {
+        int prefixLength = 0;
+        if (c == '주' && startsWith(i, "주식회사")) {
+            prefixLength = 4;
+        } else if (c == '(' && startsWith(i, "(주)")) {
+            prefixLength = 3;
+        } else if (c == '㈜') {
+            prefixLength = 1;
+        }
+
+        if (prefixLength > 0) {
+            int matchEnd = matchParty(i, prefixLength);
+            if (matchEnd > 0) {
+                partyResume = matchEnd;
+            }
+        }
+    }
+
+    private int matchParty(int start, int prefixLength) {
+        int p = start + prefixLength;
+        boolean spaceAfterPrefix = p < end && isSpace(text.charAt(p));
+        p = skipSpaces(p);
+
+        // 회사명 문자(공백 포함)가 이어지는 구간. 정규식의 {2,30} 판단에 한 글자 여유만 있으면 충분
+        StringBuilder name = new StringBuilder();
+        while (p < end && name.length() <= MAX_COMPANY_NAME_LENGTH + 1) {
+            char c = text.charAt(p);
+            if (isSpace(c)) {
+                name.append(' ');
+                p = skipSpaces(p);
+            } else if (isCompanyNameChar(c)) {
+                name.append(c);
+                p++;
+            } else {
+                break;
+            }
+        }
+
+        int length = name.length();
+        if (length > MAX_COMPANY_NAME_LENGTH + 1
+                || (length == MAX_COMPANY_NAME_LENGTH + 1 && name.charAt(MAX_COMPANY_NAME_LENGTH) != ' ')
+                || length == 0
+                || (length == 1 && !spaceAfterPrefix)) {
+            return -1;
+        }
+
+        if (p >= end || text.charAt(p) != '(' || !startsWith(p + 1, "이하")) {
+            return -1;
+        }
+        p = skipSpaces(p + 3);
+        p = skipQuote(p);
+
+        if (p >= end || (text.charAt(p) != '갑' && text.charAt(p) != '을')) {
+            return -1;
+        }
+        String role = String.valueOf(text.charAt(p));
+        p = skipSpaces(skipQuote(p + 1));
+
+        if (!startsWith(p, "이라")) {
+            return -1;
+        }
+        p = skipSpaces(p + 2);
+
+        if (!startsWith(p, "한다)")) {
+            return -1;
+        }
+
+        parties.add(new ContractFields.Party(text.substring(start, start + prefixLength),
+                name.toString().trim(), role));
+        return p + 3;
+    }
+
+    // ===== 계약 기간: 기간 ... 날짜 ... 부터 ... 날짜 ... 까지 =====
+
+    private void scanDate(int i, char c) {
+        switch (dateStage) {
+            case SEEK_PERIOD -> {
+                if (c == '기' && startsWith(i, "기간")) {
+                    dateFrom = i + 2;
+                    dateStage = SEEK_START_DATE;
+                }
+            }
+            case SEEK_START_DATE -> {
+                if (i >= dateFrom && isDigit(c)) {
+                    DateMatch date = matchDate(i);
+                    if (date != null) {
+                        startDate = date.value();
+                        dateFrom = date.end();
+                        dateStage = SEEK_FROM;
+                    }
+                }
+            }
+            case SEEK_FROM -> {
+                if (i >= dateFrom && (startsWith(i, "부터") || startsWith(i, "から"))) {
+                    dateFrom = i + 2;
+                    dateStage = SEEK_END_DATE;
+                }
+            }
+            case SEEK_END_DATE -> {
+                if (i >= dateFrom && isDigit(c)) {
+                    DateMatch date = matchDate(i);
+                    if (date != null) {
+                        endDate = date.value();
+                        dateFrom = date.end();
+                        dateStage = SEEK_UNTIL;
+                    }
+                }
+            }
+            case SEEK_UNTIL -> {
+                if (i >= dateFrom && (startsWith(i, "까지") || startsWith(i, "まで"))) {
+                    dateStage = DATE_DONE;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * \d{4}[년/-]\s*\d{1,2}[월/-]?\s*\d{1,2}일? 를 정규식과 같은 탐욕/되돌림 규칙으로 매칭
+     */
+    private DateMatch matchDate(int start) {
+        if (start + 4 >= end) {
+            return null;
+        }
+        for (int k = 0; k < 4; k++) {
+            if (!isDigit(text.charAt(start + k))) {
+                return null;
+            }
+        }
+        if (!isDateSeparator(text.charAt(start + 4), '년')) {
+            return null;
+        }
+
+        String year = text.substring(start, start + 4);
+        int month = skipSpaces(start + 5);
+        if (month >= end || !isDigit(text.charAt(month))) {
+            return null;
+        }
+
+        if (month + 1 < end && isDigit(text.charAt(month + 1))) {
+            // 두 자리 월을 먼저 시도하고, 뒤에 일이 없으면 한 자리 월로 되돌림
+            int day = dayStart(month + 2);
+            if (day > 0) {
+                return finishDate(year, text.substring(month, month + 2), day);
+            }
+            return finishDate(year, text.substring(month, month + 1), month + 1);
+        }
+
+        int day = dayStart(month + 1);
+        return day > 0 ? finishDate(year, text.substring(month, month + 1), day) : null;
+    }
+
+    private int dayStart(int p) {
+        if (p < end && isDateSeparator(text.charAt(p), '월')) {
+            p++;
+        }
+        p = skipSpaces(p);
+        return p < end && isDigit(text.charAt(p)) ? p : -1;
+    }
+
+    private DateMatch finishDate(String year, String month, int day) {
+        int dayEnd = day + 1;
+        if (dayEnd < end && isDigit(text.charAt(dayEnd))) {
+            dayEnd++;
+        }
+        String dayDigits = text.substring(day, dayEnd);
+        if (dayEnd < end && text.charAt(dayEnd) == '일') {
+            dayEnd++;
+        }
+
+        String value = String.format("%s-%02d-%02d", year, Integer.parseInt(month), Integer.parseInt(dayDigits));
+        return new DateMatch(value, dayEnd);
+    }
+
+    // ===== 금액 =====
+
+    /**
+     * (금액은?|계약금은?) ... [₩(]?숫자)?\s*원 - 키워드 뒤 처음으로 "원"이 뒤따르는 숫자열
+     * 정규식의 '.'은 줄 구분 문자(NEL, LS, PS)를 넘지 못하므로 그 경우 다음 키워드부터 다시 찾는다.
+     */
+    private void scanAmount(int i, char c) {
+        if (amountStage == SEEK_AMOUNT_KEYWORD) {
+            int keywordEnd = -1;
+            if (c == '금' && startsWith(i, "금액")) {
+                keywordEnd = i + 2;
+            } else if (c == '계' && startsWith(i, "계약금")) {
+                keywordEnd = i + 3;
+            }
+            if (keywordEnd > 0) {
+                amountFrom = keywordEnd < end && text.charAt(keywordEnd) == '은' ? keywordEnd + 1 : keywordEnd;
+                amountStage = SEEK_AMOUNT_NUMBER;
+            }
+            return;
+        }
+
+        if (i < amountFrom) {
+            return;
+        }
+        if (isLineSeparator(c)) {
+            amountStage = SEEK_AMOUNT_KEYWORD;
+            return;
+        }
+        if (isAmountChar(c) && (i == begin || !isAmountChar(text.charAt(i - 1)))) {
+            int numberEnd = amountEnd(i);
+            int p = numberEnd;
+            if (p < end && text.charAt(p) == ')') {
+                p++;
+            }
+            p = skipSpaces(p);
+            if (p < end && text.charAt(p) == '원') {
+                amountPattern1 = text.substring(i, numberEnd);
+                amountStage = AMOUNT_DONE;
+            }
+        }
+    }
+
+    /**
+     * ₩\s*([0-9,]+)
+     */
+    private String matchWonSignAmount(int start) {
+        int p = skipSpaces(start + 1);
+        if (p >= end || !isAmountChar(text.charAt(p))) {
+            return null;
+        }
+        return text.substring(p, amountEnd(p));
+    }
+
+    /**
+     * \(\s*([0-9,]+)\s*원?\)
+     */
+    private String matchParenthesizedAmount(int start) {
+        int p = skipSpaces(start + 1);
+        if (p >= end || !isAmountChar(text.charAt(p))) {
+            return null;
+        }
+        int numberEnd = amountEnd(p);
+        int q = skipSpaces(numberEnd);
+        if (q < end && text.charAt(q) == '원') {
+            q++;
+        }
+        return q < end && text.charAt(q) == ')' ? text.substring(p, numberEnd) : null;
+    }
+
+    private int amountEnd(int p) {
+        while (p < end && isAmountChar(text.charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    // ===== 공통 =====
+
+    private boolean startsWith(int p, String keyword) {
+        return p >= 0 && p + keyword.length() <= end && text.startsWith(keyword, p);
+    }
+
+    private int skipSpaces(int p) {
+        while (p < end && isSpace(text.charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private int skipQuote(int p) {
+        return p < end && (text.charAt(p) == '"' || text.charAt(p) == '\'') ? p + 1 : p;
+    }
+
+    // 정규식 \s와 같은 범위
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLineSeparator(char c) {
+        return c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAmountChar(char c) {
+        return isDigit(c) || c == ',';
+    }
+
+    private static boolean isDateSeparator(char c, char unit) {
+        return c == unit || c == '/' || c == '-';
+    }
+
+    private static boolean isCompanyNameChar(char c) {
+        return (c >= '가' && c <= '힣')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z')
+                || isDigit(c)
+                || c == '&';
+    }
+
+    private record DateMatch(String value, int end) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.securedoc.extractor.service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 계약서 본문에서 찾은 필드 (검증/로그 기록 전의 원시 매칭 결과)
+ *
+ * @param parties        찾은 순서대로의 계약 당사자 (최대 2개)
+ * @param startDate      계약 시작일 (yyyy-MM-dd, 없으면 null)
+ * @param endDate        계약 종료일 (yyyy-MM-dd, 없으면 null)
+ * @param amountPattern1 "금액은 ... 원" 형식의 숫자 문자열
+ * @param amountPattern2 "₩100,000" 형식의 숫자 문자열
+ * @param amountPattern3 "(100,000원)" 형식의 숫자 문자열
+ * @param timedOut       시간 예산을 넘겨 끝까지 찾지 못한 필드 (금액은 어느 패턴도 찾지 못한 경우에만)
+ */
+public record ContractFields(List<Party> parties,
+                             String startDate,
+                             String endDate,
+                             String amountPattern1,
+                             String amountPattern2,
+                             String amountPattern3,
+                             Set<Field> timedOut) {
+
+    public boolean isTimedOut(Field field) {
+        return timedOut.contains(field);
+    }
+
+    public enum Field {
+        PARTIES, PERIOD, AMOUNT
+    }
+
+    /**
+     * @param prefix 회사 형태 표기 (주식회사, (주), ㈜)
+     * @param name   회사명
+     * @param role   갑 또는 을
+     */
+    public record Party(String prefix, String name, String role) {
+    }
+}
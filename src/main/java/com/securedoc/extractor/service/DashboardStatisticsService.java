@@ -38,6 +38,45 @@ public class DashboardStatisticsService {
         log.debug("문서 업로드 통계 증가: {}년 {}월", currentMonth.getYear(), currentMonth.getMonthValue());
     }
 
+    /**
+     * 여러 문서를 한 번에 저장했을 때 통계 증가 (일괄 수집용, 통계 행을 한 번만 갱신)
+     */
+    @Transactional
+    public void incrementDocumentsUploaded(int count, double confidenceSum, int errorCount) {
+        if (count <= 0) {
+            return;
+        }
+
+        YearMonth currentMonth = YearMonth.now();
+        DashboardStatistics stats = getOrCreateStatistics(currentMonth);
+
+        long previousDocs = stats.getTotalDocumentsUploaded();
+        long totalDocs = previousDocs + count;
+        stats.setTotalDocumentsUploaded(totalDocs);
+        stats.setAverageConfidence((stats.getAverageConfidence() * previousDocs + confidenceSum) / totalDocs);
+        stats.setTotalDocumentsWithErrors(stats.getTotalDocumentsWithErrors() + errorCount);
+
+        statisticsRepository.save(stats);
+        log.debug("문서 업로드 통계 증가: {}년 {}월 ({}건)", currentMonth.getYear(), currentMonth.getMonthValue(), count);
+    }
+
+    /**
+     * 업로드 뒤 다시 추출한 문서의 신뢰도를 업로드한 달의 평균에 반영 (문서 수는 그대로)
+     */
+    @Transactional
+    public void replaceConfidence(YearMonth uploadMonth, double previousConfidence, double confidence) {
+        DashboardStatistics stats = getOrCreateStatistics(uploadMonth);
+        long totalDocs = stats.getTotalDocumentsUploaded();
+        if (totalDocs <= 0) {
+            return;
+        }
+
+        stats.setAverageConfidence(stats.getAverageConfidence() + (confidence - previousConfidence) / totalDocs);
+
+        statisticsRepository.save(stats);
+        log.debug("문서 신뢰도 통계 보정: {}년 {}월", uploadMonth.getYear(), uploadMonth.getMonthValue());
+    }
+
     /**
      * 문서 완료 시 통계 증가
      */
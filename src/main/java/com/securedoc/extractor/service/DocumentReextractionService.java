@@ -0,0 +1,321 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.model.AuditLog;
+import com.securedoc.extractor.model.Document;
+import com.securedoc.extractor.model.ExtractionResult;
+import com.securedoc.extractor.repository.DocumentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 저장된 원문(rawText)으로 구조화 필드만 다시 추출
+ * PDF를 다시 읽거나 OCR하지 않으며, 문서를 ID 순으로 배치 단위로 읽어 값이 바뀐 문서의 필드 열만 조건부로 갱신한다.
+ * 사람이 검증 화면에서 수정한 문서와 completed / error 이외 상태(재처리 대기, OCR 대기 등)의 문서는 건드리지 않으며,
+ * 읽은 뒤 수정되거나 상태가 바뀐 문서도 덮어쓰지 않는다. 신뢰도가 바뀌면 월별 평균 신뢰도 통계를 함께 보정한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentReextractionService {
+
+    private final DocumentRepository documentRepository;
+    private final PdfExtractionService pdfExtractionService;
+    private final AuditLogService auditLogService;
+    private final DashboardStatisticsService statisticsService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${extraction.reextract.batch-size:500}")
+    private int batchSize;
+
+    // 원문 재추출로 필드를 갱신할 수 있는 상태 (나머지는 원본 PDF 재처리 대상)
+    private static final Set<String> REEXTRACTABLE_STATUSES = Set.of("completed", "error");
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService bulkExecutor;
+
+    // 일괄 재추출 진행 상황 (한 번에 하나만 실행)
+    private final AtomicBoolean bulkRunning = new AtomicBoolean();
+    private volatile String bulkStatusFilter;
+    private volatile int bulkProcessed;
+    private volatile int bulkChanged;
+    private volatile long bulkElapsedMs;
+    private volatile LocalDateTime bulkStartedAt;
+    private volatile LocalDateTime bulkFinishedAt;
+    private volatile String bulkError;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        bulkExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-reextract");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkExecutor.shutdownNow();
+    }
+
+    /**
+     * 단일 문서 재추출
+     */
+    @Transactional
+    public Document reextract(Long id) {
+        Document document = documentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다: " + id));
+
+        if (document.getRawText() == null) {
+            throw new IllegalStateException("저장된 원문 텍스트가 없어 필드만 재추출할 수 없습니다");
+        }
+        if (Boolean.TRUE.equals(document.getManuallyEdited())) {
+            throw new IllegalStateException("검증 화면에서 수정한 문서는 필드를 재추출하지 않습니다");
+        }
+        if (!REEXTRACTABLE_STATUSES.contains(document.getStatus())) {
+            throw new IllegalStateException("completed 또는 error 상태의 문서만 필드를 재추출할 수 있습니다 (현재 "
+                    + document.getStatus() + ")");
+        }
+
+        ExtractionResult result = pdfExtractionService.extractFieldsFromText(document.getRawText());
+        if (hasChanges(document, result) && !writeFields(document, result)) {
+            throw new IllegalStateException("재추출 도중 문서가 수정되었거나 상태가 바뀌었습니다. 다시 시도해주세요");
+        }
+
+        auditLogService.logDocument(AuditLog.ActionType.DOCUMENT_EDIT, document.getDocId(),
+                String.format("원문 기준 필드 재추출: %s", document.getFileName()));
+        log.info("원문 기준 필드 재추출: {}", document.getDocId());
+        return documentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다: " + id));
+    }
+
+    /**
+     * 원문이 있는 completed / error 문서(status 지정 시 해당 상태만)의 일괄 재추출을 백그라운드로 시작
+     * 이미 실행 중이면 IllegalStateException, 재추출할 수 없는 상태를 지정하면 IllegalArgumentException 발생
+     * @return 시작 시점의 진행 상황
+     */
+    public Map<String, Object> startReextractAll(String status) {
+        Set<String> statuses = status == null || status.isBlank() ? REEXTRACTABLE_STATUSES : Set.of(status);
+        if (!REEXTRACTABLE_STATUSES.containsAll(statuses)) {
+            throw new IllegalArgumentException("completed 또는 error 상태만 일괄 재추출할 수 있습니다: " + status);
+        }
+        if (!bulkRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("일괄 재추출이 이미 실행 중입니다");
+        }
+
+        bulkStatusFilter = status == null || status.isBlank() ? null : status;
+        bulkProcessed = 0;
+        bulkChanged = 0;
+        bulkElapsedMs = 0;
+        bulkStartedAt = LocalDateTime.now();
+        bulkFinishedAt = null;
+        bulkError = null;
+
+        try {
+            bulkExecutor.execute(() -> reextractAll(statuses));
+        } catch (RuntimeException e) {
+            bulkRunning.set(false);
+            throw e;
+        }
+        return getBulkProgress();
+    }
+
+    public Map<String, Object> getBulkProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("running", bulkRunning.get());
+        progress.put("status", bulkStatusFilter);
+        progress.put("processed", bulkProcessed);
+        progress.put("changed", bulkChanged);
+        progress.put("elapsedMs", bulkRunning.get() && bulkStartedAt != null
+                ? Duration.between(bulkStartedAt, LocalDateTime.now()).toMillis()
+                : bulkElapsedMs);
+        progress.put("startedAt", bulkStartedAt);
+        progress.put("finishedAt", bulkFinishedAt);
+        progress.put("error", bulkError);
+        return progress;
+    }
+
+    /**
+     * 배치 단위 일괄 재추출 (bulk-reextract 스레드에서 실행)
+     * 배치마다 별도 트랜잭션으로 커밋하므로 중간에 실패해도 앞선 배치의 결과는 유지된다.
+     */
+    private void reextractAll(Set<String> statuses) {
+        long startedAt = System.currentTimeMillis();
+        long lastId = 0;
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long fromId = lastId;
+                BatchResult batch = transactionTemplate.execute(tx -> reextractBatch(statuses, fromId));
+                if (batch == null || batch.processed() == 0) {
+                    break;
+                }
+
+                bulkProcessed += batch.processed();
+                bulkChanged += batch.changed();
+                lastId = batch.lastId();
+                log.debug("원문 재추출 배치 완료: ~ID {} ({}건 처리, {}건 변경)", lastId, bulkProcessed, bulkChanged);
+            }
+
+            auditLogService.log(AuditLog.ActionType.DOCUMENT_EDIT, "ALL_DOCUMENTS",
+                    String.format("원문 기준 필드 일괄 재추출: %d건 처리, %d건 변경", bulkProcessed, bulkChanged));
+            log.info("원문 기준 필드 일괄 재추출 완료: {}건 처리, {}건 변경, {}ms", bulkProcessed, bulkChanged,
+                    System.currentTimeMillis() - startedAt);
+
+        } catch (RuntimeException e) {
+            bulkError = e.getMessage();
+            log.error("원문 기준 필드 일괄 재추출 실패 (~ID {})", lastId, e);
+        } finally {
+            bulkElapsedMs = System.currentTimeMillis() - startedAt;
+            bulkFinishedAt = LocalDateTime.now();
+            bulkRunning.set(false);
+        }
+    }
+
+    /**
+     * 사람이 수정한 문서에 필드 변경 없이 현재 규칙 버전만 기록하고 갱신 건수 반환
+     */
+    public int stampManuallyEditedDocuments() {
+        Integer stamped = transactionTemplate.execute(tx ->
+                documentRepository.stampManuallyEditedDocuments(PdfExtractionService.RULES_VERSION));
+        return stamped != null ? stamped : 0;
+    }
+
+    /**
+     * 현재 규칙 버전보다 오래된 문서 한 배치를 워커 풀에서 재추출
+     * 사람이 수정한 문서와 pending / processing / pending-ocr 문서는 대상에서 제외된다.
+     * 문서마다 규칙 버전을 기록하므로 중단 후 다시 실행하면 남은 문서부터 이어서 처리된다.
+     */
+    public BatchResult reextractStaleBatch(long fromId, int limit, ExecutorService workers) {
+        return transactionTemplate.execute(tx -> {
+            List<Document> documents = documentRepository.findStaleDocuments(fromId,
+                    PdfExtractionService.RULES_VERSION, PageRequest.of(0, limit));
+            if (documents.isEmpty()) {
+                return new BatchResult(0, 0, fromId);
+            }
+
+            // 엔티티는 트랜잭션 스레드에서만 읽고, 워커에는 원문 문자열만 넘김
+            List<Callable<ExtractionResult>> tasks = new ArrayList<>(documents.size());
+            for (Document document : documents) {
+                String rawText = document.getRawText();
+                tasks.add(() -> pdfExtractionService.extractFieldsFromText(rawText));
+            }
+
+            List<Future<ExtractionResult>> results;
+            try {
+                results = workers.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("재추출 중 인터럽트 발생", e);
+            }
+
+            // 읽어 둔 엔티티를 저장하면 그사이의 수정/상태 변경을 되돌리므로 조건부 UPDATE로 필드만 기록
+            int changed = 0;
+            for (int i = 0; i < documents.size(); i++) {
+                if (writeFields(documents.get(i), getResult(results.get(i)))) {
+                    changed++;
+                }
+            }
+
+            return new BatchResult(documents.size(), changed, documents.get(documents.size() - 1).getId());
+        });
+    }
+
+    /**
+     * 값이 바뀐 경우에만 재추출 결과를 조건부로 기록하고 반영되었는지 반환
+     * 읽은 시점 이후 사람이 수정했거나 상태가 바뀐 문서는 기록하지 않고 건너뛴다.
+     * 신뢰도가 바뀌면 업로드한 달의 평균 신뢰도 통계에 반영한다.
+     */
+    private boolean writeFields(Document document, ExtractionResult result) {
+        if (!hasChanges(document, result)) {
+            return false;
+        }
+        int updated = documentRepository.applyReextractedFields(document.getId(), document.getStatus(),
+                document.getUpdatedAt(), result.getContractorA(), result.getContractorB(), result.getStartDate(),
+                result.getEndDate(), result.getAmount(), result.getConfidence(), PdfExtractionService.RULES_VERSION,
+                LocalDateTime.now());
+        if (updated == 0) {
+            log.debug("재추출 도중 수정되거나 상태가 바뀐 문서 건너뜀: {}", document.getDocId());
+            return false;
+        }
+
+        if (!Objects.equals(document.getConfidence(), result.getConfidence())) {
+            YearMonth uploadMonth = document.getCreatedAt() != null
+                    ? YearMonth.from(document.getCreatedAt())
+                    : YearMonth.now();
+            statisticsService.replaceConfidence(uploadMonth,
+                    document.getConfidence() != null ? document.getConfidence() : 0.0, result.getConfidence());
+        }
+        return true;
+    }
+
+    private ExtractionResult getResult(Future<ExtractionResult> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("필드 재추출 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재추출 중 인터럽트 발생", e);
+        }
+    }
+
+    private BatchResult reextractBatch(Set<String> statuses, long fromId) {
+        List<Document> documents = documentRepository.findReextractableDocuments(fromId, statuses,
+                PageRequest.of(0, batchSize));
+
+        if (documents.isEmpty()) {
+            return new BatchResult(0, 0, fromId);
+        }
+
+        int changed = 0;
+        for (Document document : documents) {
+            ExtractionResult result = pdfExtractionService.extractFieldsFromText(document.getRawText());
+            if (writeFields(document, result)) {
+                changed++;
+            }
+        }
+
+        return new BatchResult(documents.size(), changed, documents.get(documents.size() - 1).getId());
+    }
+
+    /**
+     * 추출 결과가 저장된 필드 또는 규칙 버전과 다른지
+     */
+    private static boolean hasChanges(Document document, ExtractionResult result) {
+        return !Objects.equals(document.getRulesVersion(), PdfExtractionService.RULES_VERSION)
+                || !Objects.equals(document.getContractorA(), result.getContractorA())
+                || !Objects.equals(document.getContractorB(), result.getContractorB())
+                || !Objects.equals(document.getStartDate(), result.getStartDate())
+                || !Objects.equals(document.getEndDate(), result.getEndDate())
+                || !Objects.equals(document.getAmount(), result.getAmount())
+                || !Objects.equals(document.getConfidence(), result.getConfidence());
+    }
+
+    public record BatchResult(int processed, int changed, long lastId) {
+    }
+}
@@ -5,6 +5,7 @@ import com.securedoc.extractor.model.Document;
 import com.securedoc.extractor.model.ExtractionResult;
 import com.securedoc.extractor.model.User;
 import com.securedoc.extractor.repository.DocumentRepository;
+import com.securedoc.extractor.repository.ExtractionCacheRepository;
 import com.securedoc.extractor.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +14,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,22 +34,13 @@ public class DocumentService {
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
     private final DashboardStatisticsService statisticsService;
+    private final PdfExtractionService pdfExtractionService;
+    private final ExtractionCacheRepository extractionCacheRepository;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional
     public Document saveExtractionResult(ExtractionResult result) {
-        Document document = new Document();
-        document.setDocId(result.getDocId());
-        document.setFileName(result.getFileName());
-        document.setTotalPages(result.getTotalPages());
-        document.setRawText(result.getRawText());
-        document.setContractorA(result.getContractorA());
-        document.setContractorB(result.getContractorB());
-        document.setStartDate(result.getStartDate());
-        document.setEndDate(result.getEndDate());
-        document.setAmount(result.getAmount());
-        document.setConfidence(result.getConfidence());
-        document.setStatus(result.getStatus());
-        document.setFilePath(result.getFilePath());
+        Document document = toDocument(result);
 
         // 현재 로그인한 사용자를 소유자로 설정
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -71,6 +69,52 @@ public class DocumentService {
         return savedDocument;
     }
 
+    /**
+     * 여러 추출 결과를 한 트랜잭션으로 저장 (일괄 수집용)
+     * 문서마다 감사 로그를 남기지 않고 배치당 한 건만 기록하며, 통계도 한 번에 갱신한다.
+     */
+    @Transactional
+    public List<Document> saveExtractionResults(List<ExtractionResult> results) {
+        if (results.isEmpty()) {
+            return List.of();
+        }
+
+        List<Document> documents = results.stream()
+                .map(this::toDocument)
+                .toList();
+        List<Document> saved = documentRepository.saveAll(documents);
+
+        double confidenceSum = results.stream().mapToDouble(ExtractionResult::getConfidence).sum();
+        int errorCount = (int) results.stream().filter(result -> "error".equals(result.getStatus())).count();
+
+        auditLogService.log(AuditLog.ActionType.DOCUMENT_UPLOAD, "BULK_INGEST",
+                String.format("문서 일괄 수집: %d건 (%s ~ %s)", saved.size(),
+                        documents.get(0).getDocId(), documents.get(documents.size() - 1).getDocId()));
+        statisticsService.incrementDocumentsUploaded(results.size(), confidenceSum, errorCount);
+
+        log.info("문서 일괄 저장 완료: {}건", saved.size());
+        return saved;
+    }
+
+    private Document toDocument(ExtractionResult result) {
+        Document document = new Document();
+        document.setDocId(result.getDocId());
+        document.setFileName(result.getFileName());
+        document.setTotalPages(result.getTotalPages());
+        document.setRawText(result.getRawText());
+        document.setTextComplete(result.isTextComplete());
+        document.setContractorA(result.getContractorA());
+        document.setContractorB(result.getContractorB());
+        document.setStartDate(result.getStartDate());
+        document.setEndDate(result.getEndDate());
+        document.setAmount(result.getAmount());
+        document.setConfidence(result.getConfidence());
+        document.setRulesVersion(PdfExtractionService.RULES_VERSION);
+        document.setStatus(result.getStatus());
+        document.setFilePath(result.getFilePath());
+        return document;
+    }
+
     public Optional<Document> findByDocId(String docId) {
         Optional<Document> document = documentRepository.findByDocId(docId);
 
@@ -147,6 +191,8 @@ public class DocumentService {
         if (updates.getStatus() != null) {
             document.setStatus(updates.getStatus());
         }
+        // 사람이 검증한 값은 규칙 재추출로 덮어쓰지 않음
+        document.setManuallyEdited(true);
 
         // contractAmount는 문자열로 들어오므로 파싱 필요
         // 하지만 Document 모델에 setContractAmount가 없으므로 amount를 직접 설정
@@ -185,6 +231,35 @@ public class DocumentService {
         log.info("문서 재처리 요청: {}", document.getDocId());
     }
 
+    /**
+     * 조기 종료로 일부 페이지가 빠진 문서의 원문을 저장된 PDF에서 다시 추출해 채움
+     * PDF 파싱/OCR은 트랜잭션 밖에서 수행하고, 결과는 아직 채워지지 않은 경우에만 짧은 트랜잭션으로 기록한다.
+     * 오래 걸릴 수 있으므로 요청 스레드가 아닌 작업 풀에서 호출한다.
+     */
+    public Document completeRawText(Long id) throws IOException {
+        Document document = documentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다: " + id));
+
+        if (!Boolean.FALSE.equals(document.getTextComplete())) {
+            return document;
+        }
+
+        if (document.getFilePath() == null || !Files.exists(Paths.get(document.getFilePath()))) {
+            log.warn("원본 PDF가 없어 전체 텍스트를 추출할 수 없음: {}", document.getDocId());
+            return document;
+        }
+
+        String fullText = pdfExtractionService.extractFullText(new File(document.getFilePath()));
+        Integer updated = new TransactionTemplate(transactionManager)
+                .execute(status -> documentRepository.completeRawText(id, fullText));
+
+        if (updated != null && updated > 0) {
+            log.info("전체 원문 텍스트 추출 완료: {} ({} chars)", document.getDocId(), fullText.length());
+        }
+        return documentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다: " + id));
+    }
+
     /**
      * 단일 문서 삭제
      */
@@ -199,8 +274,16 @@ public class DocumentService {
             auditLogService.logDocument(AuditLog.ActionType.DOCUMENT_DELETE, docId,
                     String.format("문서 삭제: %s", document.getFileName()));
 
-            // 실제 PDF 파일 삭제
-            deletePhysicalFile(document.getFilePath());
+            // 실제 PDF 파일 삭제 (캐시 재사용으로 다른 문서가 같은 파일을 쓰고 있으면 유지)
+            if (document.getFilePath() != null
+                    && documentRepository.countByFilePath(document.getFilePath()) > 1) {
+                log.info("다른 문서가 같은 파일을 참조하여 파일 유지: {}", document.getFilePath());
+            } else {
+                deletePhysicalFile(document.getFilePath());
+                if (document.getFilePath() != null) {
+                    extractionCacheRepository.deleteByFilePath(document.getFilePath());
+                }
+            }
 
             documentRepository.delete(document);
             log.info("문서 삭제 완료: {}", docId);
@@ -0,0 +1,353 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.exception.ExtractionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 추출 동시 실행 수 제한 (레인별 가중치 기반 입장 제어)
+ * 문서마다 페이지 수와 텍스트 레이어 유무로 레인과 비용(가중치)을 미리 분류하고,
+ * 텍스트 문서(FAST)와 OCR 문서(SLOW)가 각자의 용량과 대기열을 쓰게 해 쉬운 문서가 스캔 문서 뒤에 밀리지 않게 한다.
+ * 용량이 없으면 레인의 제한된 대기열에서 기다리며, 대기열이 가득 찼거나 대기 시간을 넘기면
+ * ExtractionRejectedException(429 + Retry-After)으로 거부해 과부하에서도 처리 중인 요청의 지연을 유지한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractionAdmissionService {
+
+    // 분류 시 폰트 유무를 확인하는 앞쪽 페이지 수
+    private static final int SAMPLE_PAGES = 3;
+
+    private final MeterRegistry meterRegistry;
+    private final OcrDeferralService ocrDeferralService;
+
+    @Value("${extraction.admission.enabled:true}")
+    private boolean enabled;
+
+    // 텍스트 레이어 문서는 이 페이지 수마다 가중치 1
+    @Value("${extraction.admission.pages-per-unit:20}")
+    private int pagesPerUnit;
+
+    // OCR이 필요한 문서의 가중치 배수
+    @Value("${extraction.admission.ocr-weight:4}")
+    private int ocrWeight;
+
+    // 레인별 동시 실행 가중치 합 (0이면 FAST는 CPU 코어 수, SLOW는 코어 수 x 2)
+    @Value("${extraction.admission.fast.max-weight:0}")
+    private int fastMaxWeight;
+
+    @Value("${extraction.admission.slow.max-weight:0}")
+    private int slowMaxWeight;
+
+    // 레인별로 용량을 기다릴 수 있는 요청 수
+    @Value("${extraction.admission.fast.max-queued:50}")
+    private int fastMaxQueued;
+
+    @Value("${extraction.admission.slow.max-queued:10}")
+    private int slowMaxQueued;
+
+    @Value("${extraction.admission.fast.max-wait-ms:5000}")
+    private long fastMaxWaitMs;
+
+    @Value("${extraction.admission.slow.max-wait-ms:30000}")
+    private long slowMaxWaitMs;
+
+    // 도착 순서 대신 예상 완료 시각(도착 + 가중치 x 평균 처리 시간)이 빠른 요청부터 처리
+    @Value("${extraction.admission.fast.deadline-ordering:false}")
+    private boolean fastDeadlineOrdering;
+
+    @Value("${extraction.admission.slow.deadline-ordering:true}")
+    private boolean slowDeadlineOrdering;
+
+    private final Map<ExtractionLane, LaneState> lanes = new EnumMap<>(ExtractionLane.class);
+
+    @PostConstruct
+    public void init() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        lanes.put(ExtractionLane.FAST, new LaneState(ExtractionLane.FAST,
+                fastMaxWeight > 0 ? fastMaxWeight : cores, fastMaxQueued, fastMaxWaitMs, fastDeadlineOrdering));
+        lanes.put(ExtractionLane.SLOW, new LaneState(ExtractionLane.SLOW,
+                slowMaxWeight > 0 ? slowMaxWeight : cores * 2, slowMaxQueued, slowMaxWaitMs, slowDeadlineOrdering));
+
+        // OCR 레인에서 용량을 기다리는 요청 수를 지연 모드 판단에 사용
+        LaneGate slowGate = lanes.get(ExtractionLane.SLOW).gate;
+        ocrDeferralService.addBacklogSource(slowGate::getQueued);
+
+        for (LaneState lane : lanes.values()) {
+            log.info("추출 입장 제어 초기화: lane={}, maxWeight={}, maxQueued={}, maxWaitMs={}, deadlineOrdering={}",
+                    lane.lane.getTag(), lane.gate.getCapacity(), lane.maxQueued, lane.maxWaitMs,
+                    lane.deadlineOrdering);
+        }
+    }
+
+    /**
+     * 요청 스레드용 입장
+     * 분류된 레인에서 최대 max-wait-ms 동안 대기하고, 대기열이 가득 찼거나 시간을 넘기면 거부한다.
+     * 반환된 Permit은 추출이 끝난 뒤 close 해야 한다.
+     * @param report 같은 파일의 사전 검사 결과 (페이지 수와 텍스트 레이어 유무로 분류)
+     */
+    public Permit admit(File file, PdfPreflight.Report report) {
+        Classification classification = classify(file, report);
+        if (!enabled) {
+            return new Permit(classification, null, System.nanoTime());
+        }
+
+        LaneState lane = lanes.get(classification.lane());
+        int weight = classification.weight();
+        long requestedNanos = System.nanoTime();
+
+        LaneGate.Result result;
+        try {
+            result = lane.gate.tryAcquire(weight, lane.deadline(requestedNanos, weight),
+                    TimeUnit.MILLISECONDS.toNanos(lane.maxWaitMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(lane, "처리 용량 대기 중 인터럽트 발생", weight);
+        } finally {
+            lane.waitTimer.record(System.nanoTime() - requestedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        switch (result) {
+            case QUEUE_FULL -> {
+                lane.queueFullCounter.increment();
+                throw reject(lane, "처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요", weight);
+            }
+            case TIMED_OUT -> {
+                lane.timeoutCounter.increment();
+                throw reject(lane, "처리 용량 대기 시간을 초과했습니다. 잠시 후 다시 시도해주세요", weight);
+            }
+            default -> {
+                return new Permit(classification, lane, requestedNanos);
+            }
+        }
+    }
+
+    /**
+     * 백그라운드 작업용 입장 (이미 작업 큐로 제한되므로 거부하지 않고 용량이 날 때까지 대기)
+     */
+    public Permit acquire(Classification classification) throws InterruptedException {
+        if (!enabled) {
+            return new Permit(classification, null, System.nanoTime());
+        }
+
+        LaneState lane = lanes.get(classification.lane());
+        long requestedNanos = System.nanoTime();
+        try {
+            lane.gate.acquire(classification.weight(), lane.deadline(requestedNanos, classification.weight()));
+        } finally {
+            lane.waitTimer.record(System.nanoTime() - requestedNanos, TimeUnit.NANOSECONDS);
+        }
+        return new Permit(classification, lane, requestedNanos);
+    }
+
+    /**
+     * 레인에 밀려 있는 작업을 처리하는 데 걸릴 예상 시간 (초)
+     */
+    public long estimateRetryAfterSeconds(ExtractionLane lane, int extraWeight) {
+        return lanes.get(lane).estimateRetryAfterSeconds(extraWeight);
+    }
+
+    private ExtractionRejectedException reject(LaneState lane, String message, int weight) {
+        long retryAfter = lane.estimateRetryAfterSeconds(weight);
+        log.warn("추출 요청 거부: {} (lane={}, 가중치 {}, 대기 {}건, Retry-After {}초)",
+                message, lane.lane.getTag(), weight, lane.gate.getQueued(), retryAfter);
+        return new ExtractionRejectedException(message, retryAfter);
+    }
+
+    /**
+     * 페이지 수와 텍스트 레이어 유무로 레인과 가중치 분류
+     * 사전 검사가 구간 읽기로 알아낸 페이지 수와 앞쪽 페이지의 폰트 유무를 그대로 쓰고,
+     * 페이지 수를 알아내지 못한 경우(xref 스트림, 손상된 xref 등)에만 문서 전체를 로드한다.
+     * 앞쪽 몇 페이지에 폰트가 하나도 없으면 스캔 문서로 보고 SLOW 레인에 OCR 배수를 적용한다.
+     * 폰트 유무를 확인하지 못했으면 텍스트 레인을 막지 않도록 OCR 문서로 본다.
+     * OCR 지연 모드에서는 OCR 문서도 텍스트 레이어만 추출하므로 FAST 레인의 텍스트 가중치로 분류한다.
+     * 파일을 열 수 없으면(손상, 암호화) 추출이 곧바로 실패하므로 FAST 레인의 최소 가중치를 준다.
+     */
+    public Classification classify(File file, PdfPreflight.Report report) {
+        int pages;
+        boolean needsOcr;
+        if (report != null && report.pageCount() > 0) {
+            pages = report.pageCount();
+            needsOcr = !Boolean.TRUE.equals(report.hasFonts());
+        } else {
+            try (PDDocument document = PDDocument.load(file, MemoryUsageSetting.setupTempFileOnly())) {
+                pages = document.getNumberOfPages();
+                needsOcr = !hasFonts(document);
+            } catch (IOException e) {
+                log.debug("문서 분류 실패, 최소 가중치 적용: {} ({})", file.getName(), e.getMessage());
+                return new Classification(0, false, false, 1);
+            }
+        }
+
+        boolean deferOcr = needsOcr && ocrDeferralService.isDegraded();
+        boolean runsOcr = needsOcr && !deferOcr;
+        int units = Math.max(1, (pages + pagesPerUnit - 1) / Math.max(1, pagesPerUnit));
+        long weight = runsOcr ? (long) units * ocrWeight : units;
+
+        // 레인 용량보다 큰 문서는 용량 전체를 차지하도록 제한 (그렇지 않으면 영원히 입장할 수 없음)
+        LaneState lane = lanes.get(runsOcr ? ExtractionLane.SLOW : ExtractionLane.FAST);
+        int maxWeight = lane != null ? lane.gate.getCapacity() : Integer.MAX_VALUE;
+        return new Classification(pages, needsOcr, deferOcr, (int) Math.max(1, Math.min(weight, maxWeight)));
+    }
+
+    private boolean hasFonts(PDDocument document) {
+        int sampled = 0;
+        for (PDPage page : document.getPages()) {
+            PDResources resources = page.getResources();
+            if (resources != null && resources.getFontNames().iterator().hasNext()) {
+                return true;
+            }
+            if (++sampled >= SAMPLE_PAGES) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 문서 분류 결과
+     * @param deferOcr OCR 지연 모드라 텍스트 레이어만 추출하고 OCR은 나중에 수행
+     * @param weight 레인 용량에서 차지하는 가중치
+     */
+    public record Classification(int pages, boolean needsOcr, boolean deferOcr, int weight) {
+
+        public ExtractionLane lane() {
+            return needsOcr && !deferOcr ? ExtractionLane.SLOW : ExtractionLane.FAST;
+        }
+    }
+
+    /**
+     * 레인 하나의 용량, 설정, 메트릭
+     */
+    private class LaneState {
+
+        private final ExtractionLane lane;
+        private final LaneGate gate;
+        private final int maxQueued;
+        private final long maxWaitMs;
+        private final boolean deadlineOrdering;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Timer latencyTimer;
+        private final Counter queueFullCounter;
+        private final Counter timeoutCounter;
+
+        // 가중치 1당 평균 처리 시간 (Retry-After와 마감 시각 계산용 지수 이동 평균)
+        private volatile double secondsPerUnit = 2.0;
+
+        LaneState(ExtractionLane lane, int maxWeight, int maxQueued, long maxWaitMs, boolean deadlineOrdering) {
+            this.lane = lane;
+            this.gate = new LaneGate(maxWeight, maxQueued, deadlineOrdering);
+            this.maxQueued = maxQueued;
+            this.maxWaitMs = maxWaitMs;
+            this.deadlineOrdering = deadlineOrdering;
+
+            String tag = lane.getTag();
+            Gauge.builder("extraction.admission.in-flight", inFlight, AtomicInteger::get)
+                    .tag("lane", tag)
+                    .description("실행 중인 추출 요청 수")
+                    .register(meterRegistry);
+            Gauge.builder("extraction.admission.in-flight.weight", gate, LaneGate::getInUse)
+                    .tag("lane", tag)
+                    .description("실행 중인 추출 요청의 가중치 합")
+                    .register(meterRegistry);
+            Gauge.builder("extraction.admission.queued", gate, LaneGate::getQueued)
+                    .tag("lane", tag)
+                    .description("용량을 기다리는 추출 요청 수")
+                    .register(meterRegistry);
+            Gauge.builder("extraction.admission.queued.weight", gate, LaneGate::getQueuedWeight)
+                    .tag("lane", tag)
+                    .description("용량을 기다리는 추출 요청의 가중치 합")
+                    .register(meterRegistry);
+            waitTimer = Timer.builder("extraction.admission.wait")
+                    .tag("lane", tag)
+                    .description("추출 용량 대기 시간")
+                    .register(meterRegistry);
+            latencyTimer = Timer.builder("extraction.lane.latency")
+                    .tag("lane", tag)
+                    .description("레인별 추출 지연 시간 (용량 대기 포함)")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            queueFullCounter = Counter.builder("extraction.admission.rejected")
+                    .tag("lane", tag)
+                    .tag("reason", "queue-full")
+                    .description("용량 초과로 거부된 추출 요청 수")
+                    .register(meterRegistry);
+            timeoutCounter = Counter.builder("extraction.admission.rejected")
+                    .tag("lane", tag)
+                    .tag("reason", "timeout")
+                    .description("용량 초과로 거부된 추출 요청 수")
+                    .register(meterRegistry);
+        }
+
+        long deadline(long requestedNanos, int weight) {
+            return requestedNanos + (long) (weight * secondsPerUnit * 1_000_000_000L);
+        }
+
+        long estimateRetryAfterSeconds(int extraWeight) {
+            int backlog = gate.getInUse() + gate.getQueuedWeight() + extraWeight;
+            double seconds = backlog * secondsPerUnit / gate.getCapacity();
+            return Math.max(1, Math.min(300, (long) Math.ceil(seconds)));
+        }
+    }
+
+    public class Permit implements AutoCloseable {
+
+        private final Classification classification;
+        private final LaneState lane;
+        private final long requestedNanos;
+        private final long startedNanos = System.nanoTime();
+        private boolean released;
+
+        private Permit(Classification classification, LaneState lane, long requestedNanos) {
+            this.classification = classification;
+            this.lane = lane;
+            this.requestedNanos = requestedNanos;
+            if (lane != null) {
+                lane.inFlight.incrementAndGet();
+            }
+        }
+
+        public Classification getClassification() {
+            return classification;
+        }
+
+        public ExtractionLane getLane() {
+            return classification.lane();
+        }
+
+        @Override
+        public void close() {
+            if (released || lane == null) {
+                return;
+            }
+            released = true;
+            lane.gate.release(classification.weight());
+            lane.inFlight.decrementAndGet();
+
+            long finishedNanos = System.nanoTime();
+            lane.latencyTimer.record(finishedNanos - requestedNanos, TimeUnit.NANOSECONDS);
+            double seconds = (finishedNanos - startedNanos) / 1_000_000_000.0 / classification.weight();
+            lane.secondsPerUnit = lane.secondsPerUnit * 0.8 + seconds * 0.2;
+        }
+    }
+}
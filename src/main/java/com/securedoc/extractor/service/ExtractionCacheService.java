@@ -0,0 +1,136 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.model.ExtractionCacheEntry;
+import com.securedoc.extractor.model.ExtractionResult;
+import com.securedoc.extractor.repository.ExtractionCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 업로드 파일 내용(SHA-256) 기준 추출 결과 캐시
+ * 같은 PDF가 다시 업로드되면 파싱/OCR 없이 저장된 결과와 기존 저장 파일을 재사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractionCacheService {
+
+    private final ExtractionCacheRepository extractionCacheRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${extraction.cache.enabled:true}")
+    private boolean enabled;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    public void init() {
+        hitCounter = Counter.builder("extraction.cache.requests")
+                .tag("result", "hit")
+                .description("추출 결과 캐시 조회 수")
+                .register(meterRegistry);
+        missCounter = Counter.builder("extraction.cache.requests")
+                .tag("result", "miss")
+                .description("추출 결과 캐시 조회 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 같은 내용의 파일을 현재 규칙 버전으로 추출한 결과가 있으면 새 문서 ID로 복원
+     * 캐시된 저장 파일이 사라졌다면 항목을 지우고 미적중으로 처리한다.
+     */
+    @Transactional
+    public Optional<ExtractionResult> lookup(String contentHash, String fileName) {
+        if (!enabled || contentHash == null) {
+            return Optional.empty();
+        }
+
+        Optional<ExtractionCacheEntry> cached = extractionCacheRepository
+                .findByContentHashAndRulesVersion(contentHash, PdfExtractionService.RULES_VERSION);
+
+        if (cached.isPresent() && !Files.exists(Paths.get(cached.get().getFilePath()))) {
+            log.info("캐시된 저장 파일이 없어 캐시 항목 삭제: {}", cached.get().getFilePath());
+            extractionCacheRepository.delete(cached.get());
+            cached = Optional.empty();
+        }
+
+        if (cached.isEmpty()) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        ExtractionCacheEntry entry = cached.get();
+        entry.setHitCount(entry.getHitCount() + 1);
+        entry.setLastHitAt(LocalDateTime.now());
+        hitCounter.increment();
+
+        ExtractionResult result = new ExtractionResult();
+        result.setDocId(PdfExtractionService.newDocId());
+        result.setFileName(fileName);
+        result.setTotalPages(entry.getTotalPages());
+        result.setRawText(entry.getRawText());
+        result.setTextComplete(entry.isTextComplete());
+        result.setContractorA(entry.getContractorA());
+        result.setContractorB(entry.getContractorB());
+        result.setStartDate(entry.getStartDate());
+        result.setEndDate(entry.getEndDate());
+        result.setAmount(entry.getAmount());
+        result.setConfidence(entry.getConfidence());
+        result.setStatus(entry.getStatus());
+        result.setFilePath(entry.getFilePath());
+        result.addLog("INFO", "처리 시작: " + fileName);
+        result.addLog("INFO", "동일한 파일의 추출 결과 재사용 (SHA-256 " + contentHash.substring(0, 12) + "...)");
+
+        log.info("추출 결과 캐시 적중: {} -> {}", fileName, entry.getFilePath());
+        return Optional.of(result);
+    }
+
+    /**
+     * 정상 완료된 추출 결과를 저장 파일 위치와 함께 캐시
+     * 동시에 같은 파일이 처리되어 이미 저장된 경우에는 무시한다.
+     */
+    public void store(String contentHash, ExtractionResult result) {
+        if (!enabled || contentHash == null || !"completed".equals(result.getStatus())
+                || result.getFilePath() == null) {
+            return;
+        }
+
+        ExtractionCacheEntry entry = new ExtractionCacheEntry();
+        entry.setContentHash(contentHash);
+        entry.setRulesVersion(PdfExtractionService.RULES_VERSION);
+        entry.setTotalPages(result.getTotalPages());
+        entry.setRawText(result.getRawText());
+        entry.setTextComplete(result.isTextComplete());
+        entry.setContractorA(result.getContractorA());
+        entry.setContractorB(result.getContractorB());
+        entry.setStartDate(result.getStartDate());
+        entry.setEndDate(result.getEndDate());
+        entry.setAmount(result.getAmount());
+        entry.setConfidence(result.getConfidence());
+        entry.setStatus(result.getStatus());
+        entry.setFilePath(result.getFilePath());
+
+        try {
+            extractionCacheRepository.save(entry);
+            log.debug("추출 결과 캐시 저장: {}", contentHash);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("이미 캐시된 파일: {}", contentHash);
+        } catch (RuntimeException e) {
+            // 캐시는 부가 기능이므로 저장 실패가 추출 결과 저장을 막지 않도록 함
+            log.warn("추출 결과 캐시 저장 실패: {}", contentHash, e);
+        }
+    }
+}
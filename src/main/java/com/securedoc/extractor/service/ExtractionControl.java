@@ -0,0 +1,101 @@
+package com.securedoc.extractor.service;
+
+/**
+ * 추출 하나의 취소 핸들과 시간 예산
+ * 텍스트 추출과 OCR 루프가 페이지 사이에서 isStopped()를 확인하며,
+ * 취소되거나 예산을 넘으면 그때까지 수집한 텍스트로 cancelled / timeout 상태의 결과를 만든다.
+ * 과부하로 OCR을 미루도록 표시되면 텍스트 레이어만 추출하고 pending-ocr 상태의 결과를 만든다.
+ */
+public final class ExtractionControl {
+
+    public static final String CANCELLED = "cancelled";
+    public static final String TIMEOUT = "timeout";
+    public static final String PENDING_OCR = "pending-ocr";
+
+    private final long budgetMs;
+    private volatile boolean started;
+    private volatile long deadlineNanos;
+    private volatile boolean cancelled;
+    private volatile boolean deferOcr;
+    private volatile boolean ocrDeferred;
+
+    /**
+     * @param budgetMs start() 이후 허용 시간 (0 이하면 제한 없음)
+     */
+    public ExtractionControl(long budgetMs) {
+        this.budgetMs = budgetMs;
+    }
+
+    public static ExtractionControl unlimited() {
+        return new ExtractionControl(0);
+    }
+
+    /**
+     * 시간 예산 측정 시작 (큐 대기 시간은 예산에 포함하지 않음, 두 번째 호출부터는 무시)
+     */
+    public synchronized void start() {
+        if (!started) {
+            deadlineNanos = System.nanoTime() + budgetMs * 1_000_000L;
+            started = true;
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isTimedOut() {
+        return started && budgetMs > 0 && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public boolean isStopped() {
+        return cancelled || isTimedOut();
+    }
+
+    /**
+     * 중단된 경우 결과 상태 (cancelled / timeout), 진행 중이면 null
+     */
+    public String stopStatus() {
+        if (cancelled) {
+            return CANCELLED;
+        }
+        return isTimedOut() ? TIMEOUT : null;
+    }
+
+    public String stopMessage() {
+        if (cancelled) {
+            return "사용자 요청으로 추출이 취소되었습니다";
+        }
+        return isTimedOut() ? String.format("문서 처리 시간 예산(%dms)을 초과했습니다", budgetMs) : null;
+    }
+
+    /**
+     * OCR을 건너뛰고 텍스트 레이어만 추출하도록 표시 (OCR은 백그라운드 워커가 나중에 수행)
+     */
+    public void deferOcr() {
+        deferOcr = true;
+    }
+
+    public boolean isDeferOcr() {
+        return deferOcr;
+    }
+
+    /**
+     * OCR 대상 페이지가 있었지만 미뤄서 건너뛴 경우 true
+     */
+    public boolean isOcrDeferred() {
+        return ocrDeferred;
+    }
+
+    void markOcrDeferred() {
+        ocrDeferred = true;
+    }
+
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+}
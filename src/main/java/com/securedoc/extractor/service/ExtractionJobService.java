@@ -0,0 +1,555 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.exception.ExtractionRejectedException;
+import com.securedoc.extractor.exception.InvalidPdfException;
+import com.securedoc.extractor.model.ExtractionJob;
+import com.securedoc.extractor.model.ExtractionResult;
+import com.securedoc.extractor.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 추출 작업 큐
+ * 업로드 요청 스레드는 파일만 저장하고 즉시 반환하며, 추출과 저장은 제한된 워커 풀에서 수행한다.
+ * 등록 시 문서를 분류해 텍스트 문서(FAST)와 OCR 문서(SLOW)를 레인별 워커 풀과 큐로 나눠 처리한다.
+ * 레인 큐는 업로드한 사용자(또는 역할)별 가중 공정 대기열이라 한 사용자의 대량 업로드가 다른 사용자를 굶기지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractionJobService {
+
+    private static final String STORED_DIR = "stored_documents/";
+    private static final String ANONYMOUS = "anonymous";
+    // 가중치를 따로 설정하지 않은 사용자들을 묶는 메트릭 태그
+    private static final String OTHER_OWNERS = "other";
+
+    private final PdfExtractionService pdfExtractionService;
+    private final DocumentService documentService;
+    private final ExtractionCacheService extractionCacheService;
+    private final ExtractionProgressService extractionProgressService;
+    private final ExtractionAdmissionService extractionAdmissionService;
+    private final OcrDeferralService ocrDeferralService;
+    private final PdfPreflight pdfPreflight;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${extraction.async.workers:2}")
+    private int workers;
+
+    @Value("${extraction.async.queue-capacity:50}")
+    private int queueCapacity;
+
+    // OCR 문서 레인 (워커 풀과 큐를 텍스트 문서와 따로 사용)
+    @Value("${extraction.async.slow-workers:1}")
+    private int slowWorkers;
+
+    @Value("${extraction.async.slow-queue-capacity:20}")
+    private int slowQueueCapacity;
+
+    @Value("${extraction.async.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    // 공정 대기열 키 (owner: 사용자별, role: 역할별)
+    @Value("${extraction.fair-share.key:owner}")
+    private String fairShareKey;
+
+    // 역할별 가중치 (가중치 2인 사용자는 1인 사용자보다 작업을 두 배 자주 배정받음)
+    @Value("${extraction.fair-share.role-weights:USER:1,MANAGER:2,ADMIN:2}")
+    private String roleWeightsSetting;
+
+    // 사용자별 가중치 (역할 가중치보다 우선, 예: batch-bot:0.5)
+    @Value("${extraction.fair-share.user-weights:}")
+    private String userWeightsSetting;
+
+    // 레인별로 한 사용자가 동시에 실행할 수 있는 작업 수 (0이면 제한 없음)
+    @Value("${extraction.fair-share.max-in-flight-per-owner:0}")
+    private int maxInFlightPerOwner;
+
+    // 레인별로 한 사용자가 쌓아 둘 수 있는 작업 수 (0이면 큐 전체 용량)
+    @Value("${extraction.fair-share.max-queued-per-owner:0}")
+    private int maxQueuedPerOwner;
+
+    private final Map<String, ExtractionJob> jobs = new ConcurrentHashMap<>();
+
+    // 작업별 취소 핸들 (작업과 함께 정리)
+    private final Map<String, ExtractionControl> controls = new ConcurrentHashMap<>();
+
+    private final Map<ExtractionLane, ThreadPoolExecutor> executors = new EnumMap<>(ExtractionLane.class);
+    private final Map<ExtractionLane, FairShareQueue> queues = new EnumMap<>(ExtractionLane.class);
+    private final Set<String> meteredOwners = ConcurrentHashMap.newKeySet();
+    private Map<String, Double> roleWeights;
+    private Map<String, Double> userWeights;
+    private Timer waitTimer;
+    private Timer runTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        roleWeights = parseWeights(roleWeightsSetting);
+        userWeights = parseWeights(userWeightsSetting);
+
+        executors.put(ExtractionLane.FAST, newLaneExecutor(ExtractionLane.FAST, workers, queueCapacity,
+                "extraction-job-"));
+        executors.put(ExtractionLane.SLOW, newLaneExecutor(ExtractionLane.SLOW, slowWorkers, slowQueueCapacity,
+                "extraction-job-slow-"));
+        // OCR 작업 큐에 쌓인 작업 수를 지연 모드 판단에 사용
+        FairShareQueue slowQueue = queues.get(ExtractionLane.SLOW);
+        ocrDeferralService.addBacklogSource(slowQueue::size);
+
+        waitTimer = Timer.builder("extraction.jobs.wait")
+                .description("작업 대기 시간")
+                .register(meterRegistry);
+        runTimer = Timer.builder("extraction.jobs.run")
+                .description("작업 실행 시간")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("extraction.jobs.rejected")
+                .description("큐가 가득 차 거부된 작업 수")
+                .register(meterRegistry);
+
+        log.info("비동기 추출 워커 풀 초기화: workers={}, queueCapacity={}, slowWorkers={}, slowQueueCapacity={}",
+                workers, queueCapacity, slowWorkers, slowQueueCapacity);
+        log.info("공정 대기열 설정: key={}, roleWeights={}, userWeights={}, maxInFlightPerOwner={}, maxQueuedPerOwner={}",
+                fairShareKey, roleWeights, userWeights, maxInFlightPerOwner, maxQueuedPerOwner);
+    }
+
+    private ThreadPoolExecutor newLaneExecutor(ExtractionLane lane, int threads, int capacity, String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        FairShareQueue queue = new FairShareQueue(capacity, maxQueuedPerOwner, maxInFlightPerOwner);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // 모든 작업이 공정 대기열을 거치도록 워커를 미리 시작
+        executor.prestartAllCoreThreads();
+        queues.put(lane, queue);
+
+        Tags tags = Tags.of("lane", lane.getTag());
+        new ExecutorServiceMetrics(executor, "extraction.jobs." + lane.getTag(), Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("extraction.jobs.queue.depth", executor, e -> e.getQueue().size())
+                .tags(tags)
+                .description("대기 중인 비동기 추출 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("extraction.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tags(tags)
+                .description("실행 중인 비동기 추출 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("extraction.fair-share.owners", queue, FairShareQueue::ownerCount)
+                .tags(tags)
+                .description("대기 또는 실행 중인 작업이 있는 사용자 수")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    /**
+     * 임시 저장된 업로드 파일로 추출 작업 등록
+     * 큐가 가득 찬 경우 ExtractionRejectedException, 사전 검사에서 거부된 파일은 InvalidPdfException 발생
+     * (임시 파일은 호출자가 정리)
+     * @param contentHash 업로드 중 계산한 SHA-256 (추출 결과 캐시 키)
+     */
+    public ExtractionJob submit(Path tempFile, String originalFilename, String contentHash)
+            throws InvalidPdfException {
+        PdfPreflight.Report report = pdfPreflight.verify(tempFile.toFile());
+        ExtractionAdmissionService.Classification classification =
+                extractionAdmissionService.classify(tempFile.toFile(), report);
+        ExtractionLane lane = classification.lane();
+        ThreadPoolExecutor executor = executors.get(lane);
+        FairShareQueue queue = queues.get(lane);
+        FairShareKey owner = currentFairShareKey();
+        registerOwnerMetrics(lane, owner.key());
+
+        ExtractionJob job = new ExtractionJob(UUID.randomUUID().toString(), originalFilename);
+        job.setLane(lane.getTag());
+        jobs.put(job.getJobId(), job);
+
+        ExtractionResult.ExtractionListener listener = extractionProgressService.open(job);
+        ExtractionControl control = pdfExtractionService.newControl();
+        controls.put(job.getJobId(), control);
+
+        long submittedNanos = System.nanoTime();
+        Runnable task = () -> runJob(job, tempFile, originalFilename, contentHash, listener, control,
+                classification, submittedNanos);
+
+        try {
+            // 업로드한 사용자를 문서 소유자로 기록하기 위해 보안 컨텍스트 전달
+            executor.execute(queue.task(owner.key(), owner.weight(), new DelegatingSecurityContextRunnable(task)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            controls.remove(job.getJobId());
+            extractionProgressService.remove(job.getJobId());
+            throw rejected(lane, owner);
+        }
+
+        log.info("추출 작업 등록: {} ({}, lane={})", job.getJobId(), originalFilename, lane.getTag());
+        return job;
+    }
+
+    /**
+     * 일괄 업로드 항목 하나를 owner의 공정 대기열에 등록
+     * 비동기 작업과 같은 레인 워커 풀과 사용자별 대기열을 거치므로, 큰 배치도 레인 워커 수 이상의 처리 용량을
+     * 차지하지 않고 다른 사용자의 작업과 가중치에 따라 번갈아 실행된다.
+     * 큐가 가득 찬 경우 ExtractionRejectedException, 사전 검사에서 거부된 파일은 InvalidPdfException 발생
+     * (임시 파일은 호출자가 정리)
+     * @param owner 요청 스레드에서 currentFairShareKey()로 구한 업로드 사용자
+     */
+    public CompletableFuture<ExtractionResult> submitEntry(Path tempFile, String originalFilename, String contentHash,
+                                                           FairShareKey owner) throws InvalidPdfException {
+        PdfPreflight.Report report = pdfPreflight.verify(tempFile.toFile());
+        ExtractionAdmissionService.Classification classification =
+                extractionAdmissionService.classify(tempFile.toFile(), report);
+        ExtractionLane lane = classification.lane();
+        FairShareQueue queue = queues.get(lane);
+        registerOwnerMetrics(lane, owner.key());
+
+        CompletableFuture<ExtractionResult> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(extractAndSave(tempFile, originalFilename, contentHash, null,
+                        pdfExtractionService.newControl(), classification));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        try {
+            executors.get(lane).execute(
+                    queue.task(owner.key(), owner.weight(), new DelegatingSecurityContextRunnable(task)));
+        } catch (RejectedExecutionException e) {
+            throw rejected(lane, owner);
+        }
+        return future;
+    }
+
+    private ExtractionRejectedException rejected(ExtractionLane lane, FairShareKey owner) {
+        rejectedCounter.increment();
+        FairShareQueue queue = queues.get(lane);
+        // 큐에 쌓인 작업을 최소 가중치로 보고 재시도 시점 추정
+        int queued = queue.size();
+        if (maxQueuedPerOwner > 0 && queue.queuedFor(owner.key()) >= maxQueuedPerOwner) {
+            return new ExtractionRejectedException("사용자별 대기 작업 한도를 초과했습니다. 잠시 후 다시 시도해주세요",
+                    extractionAdmissionService.estimateRetryAfterSeconds(lane, queued));
+        }
+        return new ExtractionRejectedException("처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요",
+                extractionAdmissionService.estimateRetryAfterSeconds(lane, queued));
+    }
+
+    /**
+     * 현재 사용자의 공정 대기열 키와 가중치 (비로그인 요청은 모두 anonymous 하나로 묶음)
+     */
+    public FairShareKey currentFairShareKey() {
+        String username = ANONYMOUS;
+        String role = User.Role.USER.name();
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getPrincipal())) {
+            username = authentication.getName();
+            role = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .filter(authority -> authority.startsWith("ROLE_"))
+                    .map(authority -> authority.substring("ROLE_".length()))
+                    .findFirst()
+                    .orElse(role);
+        }
+
+        double roleWeight = roleWeights.getOrDefault(role, 1.0);
+        if ("role".equalsIgnoreCase(fairShareKey)) {
+            return new FairShareKey("role:" + role, roleWeight);
+        }
+        return new FairShareKey(username, userWeights.getOrDefault(username, roleWeight));
+    }
+
+    /**
+     * 소유자별 게이지 등록 (태그 수가 사용자 수만큼 늘지 않도록 역할 키, 가중치를 설정한 사용자, anonymous만
+     * 따로 표시하고 나머지 사용자는 owner=other 하나로 합산)
+     */
+    private void registerOwnerMetrics(ExtractionLane lane, String owner) {
+        String tag = ownerTag(owner);
+        if (!meteredOwners.add(lane.getTag() + "/" + tag)) {
+            return;
+        }
+        FairShareQueue queue = queues.get(lane);
+        Tags tags = Tags.of("lane", lane.getTag(), "owner", tag);
+        Gauge.builder("extraction.fair-share.queued", queue, q -> q.queuedFor(key -> tag.equals(ownerTag(key))))
+                .tags(tags)
+                .description("사용자별 대기 중인 비동기 추출 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("extraction.fair-share.in-flight", queue, q -> q.inFlightFor(key -> tag.equals(ownerTag(key))))
+                .tags(tags)
+                .description("사용자별 실행 중인 비동기 추출 작업 수")
+                .register(meterRegistry);
+    }
+
+    private String ownerTag(String owner) {
+        if ("role".equalsIgnoreCase(fairShareKey) || ANONYMOUS.equals(owner) || userWeights.containsKey(owner)) {
+            return owner;
+        }
+        return OTHER_OWNERS;
+    }
+
+    /**
+     * "이름:가중치,이름:가중치" 형식 설정 파싱
+     */
+    private static Map<String, Double> parseWeights(String setting) {
+        Map<String, Double> weights = new HashMap<>();
+        if (setting == null || setting.isBlank()) {
+            return weights;
+        }
+        for (String entry : setting.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                log.warn("잘못된 가중치 설정 무시: {}", entry);
+                continue;
+            }
+            try {
+                double weight = Double.parseDouble(entry.substring(separator + 1).trim());
+                if (weight > 0) {
+                    weights.put(entry.substring(0, separator).trim(), weight);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 가중치 설정 무시: {}", entry);
+            }
+        }
+        return weights;
+    }
+
+    public record FairShareKey(String key, double weight) {
+    }
+
+    public Optional<ExtractionJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * 작업 취소 요청
+     * 대기 중인 작업은 바로 cancelled로 끝내고, 실행 중인 작업은 다음 페이지 경계에서 멈춘 뒤
+     * 그때까지 수집한 텍스트로 cancelled 상태의 문서를 저장한다.
+     * @return 취소 요청을 받아들였으면 true, 이미 끝난 작업이면 false
+     */
+    public boolean cancel(ExtractionJob job) {
+        ExtractionControl control = controls.get(job.getJobId());
+        if (control == null) {
+            return false;
+        }
+
+        synchronized (job) {
+            if (job.isFinished()) {
+                return false;
+            }
+            control.cancel();
+
+            if ("queued".equals(job.getStatus())) {
+                job.setStatus(ExtractionControl.CANCELLED);
+                job.setFinishedAt(LocalDateTime.now());
+                extractionProgressService.complete(job);
+            }
+        }
+
+        log.info("추출 작업 취소 요청: {}", job.getJobId());
+        return true;
+    }
+
+    private void runJob(ExtractionJob job, Path tempFile, String originalFilename, String contentHash,
+                        ExtractionResult.ExtractionListener listener, ExtractionControl control,
+                        ExtractionAdmissionService.Classification classification, long submittedNanos) {
+        synchronized (job) {
+            if (control.isCancelled()) {
+                // 대기 중에 취소된 작업 (cancel에서 이미 종료 처리됨)
+                deleteQuietly(tempFile);
+                return;
+            }
+            job.setStatus("running");
+            job.setStartedAt(LocalDateTime.now());
+        }
+
+        long startedNanos = System.nanoTime();
+        waitTimer.record(startedNanos - submittedNanos, TimeUnit.NANOSECONDS);
+        extractionProgressService.statusChanged(job);
+
+        try {
+            ExtractionResult result = extractAndSave(tempFile, originalFilename, contentHash, listener, control,
+                    classification);
+
+            job.setDocId(result.getDocId());
+            job.setResult(result);
+            if (ExtractionControl.CANCELLED.equals(result.getStatus())
+                    || ExtractionControl.TIMEOUT.equals(result.getStatus())) {
+                job.setStatus(result.getStatus());
+                log.info("추출 작업 중단({}): {} -> {}", result.getStatus(), job.getJobId(), result.getDocId());
+            } else {
+                // pending-ocr 결과도 작업은 끝난 것으로 보고, 문서의 OCR은 백그라운드 워커가 마저 수행
+                job.setStatus("completed");
+                log.info("추출 작업 완료: {} -> {} ({})", job.getJobId(), result.getDocId(), result.getStatus());
+            }
+
+        } catch (Exception e) {
+            log.error("추출 작업 실패: {}", job.getJobId(), e);
+            job.setStatus("error");
+            job.setErrorMessage(e.getMessage());
+
+        } finally {
+            deleteQuietly(tempFile);
+            job.setFinishedAt(LocalDateTime.now());
+            runTimer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+            extractionProgressService.complete(job);
+        }
+    }
+
+    /**
+     * 임시 파일 하나를 추출하고 영구 저장 후 문서로 저장
+     * 같은 내용의 파일을 이미 추출했다면 파싱/OCR 없이 캐시된 결과를 사용한다. 임시 파일은 호출자가 정리한다.
+     */
+    public ExtractionResult extractAndSave(Path tempFile, String originalFilename, String contentHash)
+            throws IOException {
+        return extractAndSave(tempFile, originalFilename, contentHash, null, pdfExtractionService.newControl());
+    }
+
+    /**
+     * listener가 있으면 추출 로그와 OCR 페이지 진행 상황을 발생 즉시 전달
+     * control로 취소하거나 시간 예산을 넘기면 수집한 부분 텍스트로 cancelled / timeout 문서를 저장한다.
+     */
+    public ExtractionResult extractAndSave(Path tempFile, String originalFilename, String contentHash,
+                                           ExtractionResult.ExtractionListener listener,
+                                           ExtractionControl control) throws IOException {
+        return extractAndSave(tempFile, originalFilename, contentHash, listener, control, null);
+    }
+
+    /**
+     * @param classification 등록 시 이미 분류했다면 그 결과 (null이면 여기서 분류)
+     */
+    private ExtractionResult extractAndSave(Path tempFile, String originalFilename, String contentHash,
+                                            ExtractionResult.ExtractionListener listener,
+                                            ExtractionControl control,
+                                            ExtractionAdmissionService.Classification classification)
+            throws IOException {
+        ExtractionResult cached = extractionCacheService.lookup(contentHash, originalFilename).orElse(null);
+        if (cached != null) {
+            if (listener != null) {
+                cached.getLogs().forEach(listener::onLog);
+            }
+            documentService.saveExtractionResult(cached);
+            return cached;
+        }
+
+        if (classification == null) {
+            // 용량 대기 전에 처리할 수 없는 파일을 거부하고 검사 결과로 분류 (등록 시 분류한 작업은 이미 검사함)
+            PdfPreflight.Report report = pdfPreflight.verify(tempFile.toFile());
+            classification = extractionAdmissionService.classify(tempFile.toFile(), report);
+        }
+
+        ExtractionResult result;
+        // 요청 스레드의 동기 추출과 같은 용량을 나눠 쓰도록 가중치만큼 확보 (큐로 이미 제한되므로 대기)
+        try (ExtractionAdmissionService.Permit permit = extractionAdmissionService.acquire(classification)) {
+            if (permit.getClassification().deferOcr()) {
+                control.deferOcr();
+            }
+            result = pdfExtractionService.processPdfFile(tempFile.toFile(), listener, control);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("추출 용량 대기 중 인터럽트 발생", e);
+        }
+        if (ExtractionControl.PENDING_OCR.equals(result.getStatus())) {
+            ocrDeferralService.recordDeferred();
+        }
+        result.setFileName(originalFilename);
+
+        Path storedFilePath = storeFile(tempFile, originalFilename, result.getDocId());
+        try {
+            result.setFilePath(storedFilePath.toString());
+            documentService.saveExtractionResult(result);
+        } catch (RuntimeException e) {
+            deleteQuietly(storedFilePath);
+            throw e;
+        }
+
+        extractionCacheService.store(contentHash, result);
+        return result;
+    }
+
+    private Path storeFile(Path source, String originalFilename, String docId) throws IOException {
+        Path storedPath = Paths.get(STORED_DIR);
+        if (!Files.exists(storedPath)) {
+            Files.createDirectories(storedPath);
+        }
+
+        Path filePath = storedPath.resolve(docId + "_" + originalFilename);
+        Files.copy(source, filePath);
+        log.info("영구 파일 저장: {}", filePath);
+
+        return filePath;
+    }
+
+    private void deleteQuietly(Path filePath) {
+        if (filePath != null) {
+            try {
+                Files.deleteIfExists(filePath);
+            } catch (IOException e) {
+                log.warn("파일 삭제 실패: {}", filePath, e);
+            }
+        }
+    }
+
+    /**
+     * 완료 후 보관 기간이 지난 작업 정리 (10분마다)
+     */
+    @Scheduled(fixedRate = 600000, initialDelay = 600000)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> {
+            boolean expired = job.isFinished() && job.getFinishedAt() != null
+                    && job.getFinishedAt().isBefore(cutoff);
+            if (expired) {
+                controls.remove(job.getJobId());
+                extractionProgressService.remove(job.getJobId());
+            }
+            return expired;
+        });
+
+        int evicted = before - jobs.size();
+        if (evicted > 0) {
+            log.debug("완료된 추출 작업 {}건 정리", evicted);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.securedoc.extractor.service;
+
+/**
+ * 추출 처리 레인
+ * 텍스트 레이어만으로 끝나는 문서는 FAST, OCR이 필요한 문서는 SLOW 레인에서 각자의 용량으로 처리한다.
+ */
+public enum ExtractionLane {
+
+    FAST("fast"),
+    SLOW("slow");
+
+    private final String tag;
+
+    ExtractionLane(String tag) {
+        this.tag = tag;
+    }
+
+    // 메트릭 태그와 설정 키에 쓰는 이름
+    public String getTag() {
+        return tag;
+    }
+}
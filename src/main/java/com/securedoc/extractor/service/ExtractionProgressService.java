@@ -0,0 +1,301 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.model.ExtractionJob;
+import com.securedoc.extractor.model.ExtractionLog;
+import com.securedoc.extractor.model.ExtractionResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 추출 작업의 진행 상황을 SSE로 전달
+ * 작업마다 이벤트를 순서대로 보관해 늦게 구독한 클라이언트도 처음부터(또는 Last-Event-ID 이후부터) 다시 받을 수 있다.
+ * 추출 스레드는 이벤트를 버퍼에 추가만 하고, 전송은 별도 스레드가 맡아 느린 클라이언트가 OCR을 막지 않는다.
+ */
+@Service
+@Slf4j
+public class ExtractionProgressService {
+
+    @Value("${extraction.progress.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    // 작업당 보관하는 최대 이벤트 수 (초과분은 버리고 완료 이벤트는 항상 보관)
+    @Value("${extraction.progress.max-events:2000}")
+    private int maxEvents;
+
+    @Value("${extraction.progress.delivery-threads:2}")
+    private int deliveryThreads;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    private ExecutorService deliveryExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        deliveryExecutor = Executors.newFixedThreadPool(Math.max(1, deliveryThreads), runnable -> {
+            Thread thread = new Thread(runnable, "extraction-sse-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+        channels.values().forEach(Channel::closeAll);
+    }
+
+    /**
+     * 작업 등록 시 이벤트 채널 생성
+     * @return 추출에 넘길 리스너 (로그와 OCR 페이지 진행 상황을 채널에 기록)
+     */
+    public ExtractionResult.ExtractionListener open(ExtractionJob job) {
+        Channel channel = new Channel();
+        channels.put(job.getJobId(), channel);
+        channel.append("status", statusPayload(job));
+
+        return new ExtractionResult.ExtractionListener() {
+            @Override
+            public void onLog(ExtractionLog entry) {
+                channel.append("log", entry);
+            }
+
+            @Override
+            public void onPageProgress(int completed, int total) {
+                channel.append("progress", Map.of("completed", completed, "total", total));
+            }
+        };
+    }
+
+    public void statusChanged(ExtractionJob job) {
+        Channel channel = channels.get(job.getJobId());
+        if (channel != null) {
+            channel.append("status", statusPayload(job));
+        }
+    }
+
+    /**
+     * 작업 종료 이벤트 기록 후 구독자 연결 종료
+     */
+    public void complete(ExtractionJob job) {
+        Channel channel = channels.get(job.getJobId());
+        if (channel != null) {
+            channel.finish(statusPayload(job));
+        }
+    }
+
+    /**
+     * 진행 이벤트 구독
+     * @param lastEventId 마지막으로 받은 이벤트 ID (재연결 시), null이면 처음부터 재전송
+     */
+    public Optional<SseEmitter> subscribe(String jobId, String lastEventId) {
+        Channel channel = channels.get(jobId);
+        if (channel == null) {
+            return Optional.empty();
+        }
+
+        int from = 0;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                from = Integer.parseInt(lastEventId.trim()) + 1;
+            } catch (NumberFormatException e) {
+                log.debug("잘못된 Last-Event-ID 무시: {}", lastEventId);
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        channel.subscribe(emitter, from);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * 보관 기간이 지난 작업의 채널 제거
+     */
+    public void remove(String jobId) {
+        Channel channel = channels.remove(jobId);
+        if (channel != null) {
+            channel.closeAll();
+        }
+    }
+
+    private static Map<String, Object> statusPayload(ExtractionJob job) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("jobId", job.getJobId());
+        payload.put("status", job.getStatus());
+        if (job.getDocId() != null) {
+            payload.put("docId", job.getDocId());
+        }
+        if (job.getErrorMessage() != null) {
+            payload.put("error", job.getErrorMessage());
+        }
+        return payload;
+    }
+
+    private record Event(String name, Object data) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private volatile int cursor;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+
+    /**
+     * 작업 하나의 이벤트 버퍼와 구독자
+     */
+    private final class Channel {
+
+        private final List<Event> events = new ArrayList<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+        private volatile boolean finished;
+        private boolean truncated;
+
+        void append(String name, Object data) {
+            synchronized (events) {
+                if (finished) {
+                    return;
+                }
+                if (events.size() >= maxEvents) {
+                    truncated = true;
+                    return;
+                }
+                events.add(new Event(name, data));
+            }
+            scheduleDelivery();
+        }
+
+        void finish(Object data) {
+            synchronized (events) {
+                if (finished) {
+                    return;
+                }
+                if (truncated) {
+                    events.add(new Event("log", new ExtractionLog("WARN",
+                            "이벤트가 많아 일부 진행 로그를 생략했습니다")));
+                }
+                events.add(new Event("done", data));
+                finished = true;
+            }
+            scheduleDelivery();
+        }
+
+        void subscribe(SseEmitter emitter, int from) {
+            Subscriber subscriber = new Subscriber(emitter, Math.max(0, from));
+            emitter.onCompletion(() -> close(subscriber));
+            emitter.onTimeout(() -> close(subscriber));
+            emitter.onError(error -> close(subscriber));
+            subscribers.add(subscriber);
+            scheduleDelivery();
+        }
+
+        void closeAll() {
+            for (Subscriber subscriber : subscribers) {
+                close(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+
+        private void close(Subscriber subscriber) {
+            subscriber.closed = true;
+            subscribers.remove(subscriber);
+        }
+
+        private void scheduleDelivery() {
+            if (!subscribers.isEmpty() && deliveryScheduled.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this::deliver);
+                } catch (RuntimeException e) {
+                    deliveryScheduled.set(false);
+                    log.debug("SSE 전송 예약 실패", e);
+                }
+            }
+        }
+
+        /**
+         * 구독자마다 아직 보내지 않은 이벤트를 순서대로 전송
+         */
+        private void deliver() {
+            try {
+                for (Subscriber subscriber : subscribers) {
+                    deliverTo(subscriber);
+                }
+            } finally {
+                deliveryScheduled.set(false);
+            }
+
+            // 전송 중에 추가된 이벤트나 구독자가 있으면 다시 예약
+            if (hasPendingDelivery()) {
+                scheduleDelivery();
+            }
+        }
+
+        private void deliverTo(Subscriber subscriber) {
+            List<Event> pending;
+            int start = subscriber.cursor;
+            boolean done;
+            synchronized (events) {
+                if (start >= events.size()) {
+                    pending = List.of();
+                } else {
+                    pending = new ArrayList<>(events.subList(start, events.size()));
+                }
+                done = finished;
+            }
+
+            try {
+                for (int i = 0; i < pending.size() && !subscriber.closed; i++) {
+                    Event event = pending.get(i);
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(start + i))
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                    subscriber.cursor = start + i + 1;
+                }
+                if (done && !subscriber.closed) {
+                    close(subscriber);
+                    subscriber.emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 종료
+                log.debug("SSE 구독자 연결 종료: {}", e.getMessage());
+                close(subscriber);
+            }
+        }
+
+        private boolean hasPendingDelivery() {
+            synchronized (events) {
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.cursor < events.size() || finished) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+    }
+}
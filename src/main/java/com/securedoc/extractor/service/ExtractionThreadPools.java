@@ -0,0 +1,135 @@
+package com.securedoc.extractor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동기 업로드 추출용 스레드 풀
+ * 서블릿 스레드는 업로드 수신만 맡고, 문서 분류와 처리 용량 대기는 입장 풀에서, PDF 파싱/OCR은 레인별 CPU 풀에서,
+ * 영구 파일 복사와 DB/감사 로그 저장은 별도의 I/O 풀에서 수행한다.
+ * 텍스트 문서(FAST)는 스캔 문서(SLOW)와 다른 풀을 써서 OCR 문서 뒤에 줄 서지 않는다.
+ * 모든 풀은 executor.* 메트릭(name 태그: extraction.admission / extraction.cpu.fast / extraction.cpu.slow / extraction.io)으로
+ * 사용률을 보고한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractionThreadPools {
+
+    private final MeterRegistry meterRegistry;
+
+    // 0이면 CPU 코어 수
+    @Value("${extraction.cpu.workers:0}")
+    private int cpuWorkers;
+
+    // OCR 문서 조정 스레드 (페이지 OCR 자체는 ocr.parallel 풀에서 수행, 0이면 코어 수의 절반)
+    @Value("${extraction.cpu.slow-workers:0}")
+    private int slowCpuWorkers;
+
+    @Value("${extraction.io.workers:8}")
+    private int ioWorkers;
+
+    // 용량을 기다리는 요청 수 상한 (모든 스레드가 대기 중이면 새 요청은 바로 거부)
+    @Value("${extraction.admission.workers:64}")
+    private int admissionWorkers;
+
+    private ExecutorService cpuPool;
+    private ExecutorService slowCpuPool;
+    private ExecutorService ioPool;
+    private ExecutorService admissionPool;
+
+    @PostConstruct
+    public void init() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (cpuWorkers <= 0) {
+            cpuWorkers = cores;
+        }
+        if (slowCpuWorkers <= 0) {
+            slowCpuWorkers = Math.max(1, cores / 2);
+        }
+        cpuPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                newPool(cpuWorkers, "extraction-cpu-"), "extraction.cpu.fast");
+        slowCpuPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                newPool(slowCpuWorkers, "extraction-cpu-slow-"), "extraction.cpu.slow");
+        ioPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                newPool(Math.max(1, ioWorkers), "extraction-io-"), "extraction.io");
+        admissionPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                newAdmissionPool(Math.max(1, admissionWorkers)), "extraction.admission");
+
+        log.info("추출 스레드 풀 초기화: cpuWorkers={}, slowCpuWorkers={}, ioWorkers={}, admissionWorkers={}",
+                cpuWorkers, slowCpuWorkers, ioWorkers, admissionWorkers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cpuPool.shutdownNow();
+        slowCpuPool.shutdownNow();
+        ioPool.shutdown();
+        admissionPool.shutdownNow();
+    }
+
+    /**
+     * 레인에 맞는 PDF 파싱/OCR용 실행기 (호출 스레드의 보안 컨텍스트를 작업에 전달)
+     */
+    public Executor cpuExecutor(ExtractionLane lane) {
+        ExecutorService pool = lane == ExtractionLane.SLOW ? slowCpuPool : cpuPool;
+        return new DelegatingSecurityContextExecutor(pool, SecurityContextHolder.getContext());
+    }
+
+    /**
+     * 문서 분류와 처리 용량 대기용 실행기 (호출 스레드의 보안 컨텍스트를 작업에 전달)
+     * 대기 중인 스레드가 모두 차 있으면 RejectedExecutionException을 던진다.
+     */
+    public Executor admissionExecutor() {
+        return new DelegatingSecurityContextExecutor(admissionPool, SecurityContextHolder.getContext());
+    }
+
+    /**
+     * 파일 복사와 DB 저장용 실행기 (호출 스레드의 보안 컨텍스트를 작업에 전달)
+     */
+    public Executor ioExecutor() {
+        return new DelegatingSecurityContextExecutor(ioPool, SecurityContextHolder.getContext());
+    }
+
+    /**
+     * 큐 없이 스레드 수만큼만 받는 풀 (쉬는 스레드는 1분 뒤 종료)
+     */
+    private static ExecutorService newAdmissionPool(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "extraction-admission-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ExecutorService newPool(int threads, String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
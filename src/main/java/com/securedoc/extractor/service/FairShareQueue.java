@@ -0,0 +1,370 @@
+package com.securedoc.extractor.service;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 소유자별 가중 공정 대기열 (ThreadPoolExecutor 작업 큐)
+ * 소유자마다 따로 줄을 세우고, 가중치에 반비례해 증가하는 가상 시각(pass)이 가장 작은 소유자의 작업부터 꺼낸다.
+ * 가중치가 같으면 소유자 사이를 번갈아 처리하므로 한 사용자가 작업을 대량으로 넣어도 다른 사용자가 굶지 않는다.
+ * 소유자별 실행 중 작업 수가 한도에 닿으면 그 소유자의 작업은 하나가 끝날 때까지 꺼내지 않는다.
+ * 대기/실행 작업이 모두 없는 소유자는 목록에서 지우며, 다시 작업을 넣으면 현재 가상 시각부터 시작한다.
+ *
+ * 작업은 task()로 감싼 Runnable만 넣을 수 있으며, 코어 스레드를 미리 띄운 풀에서만 사용해야 한다
+ * (그렇지 않으면 ThreadPoolExecutor가 큐를 거치지 않고 바로 실행해 실행 중 작업 수가 맞지 않는다).
+ */
+final class FairShareQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final int capacity;
+    private final int maxQueuedPerOwner;
+    private final int maxInFlightPerOwner;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<String, OwnerQueue> owners = new LinkedHashMap<>();
+
+    private int size;
+    private double virtualTime;
+
+    /**
+     * @param maxQueuedPerOwner 소유자별 대기 작업 한도 (0이면 전체 용량까지)
+     * @param maxInFlightPerOwner 소유자별 실행 중 작업 한도 (0이면 제한 없음)
+     */
+    FairShareQueue(int capacity, int maxQueuedPerOwner, int maxInFlightPerOwner) {
+        this.capacity = capacity;
+        this.maxQueuedPerOwner = maxQueuedPerOwner > 0 ? maxQueuedPerOwner : Integer.MAX_VALUE;
+        this.maxInFlightPerOwner = maxInFlightPerOwner > 0 ? maxInFlightPerOwner : Integer.MAX_VALUE;
+    }
+
+    /**
+     * 소유자와 가중치를 붙인 작업 생성 (실행이 끝나면 소유자의 실행 중 작업 수를 줄임)
+     */
+    Runnable task(String owner, double weight, Runnable delegate) {
+        return new Task(owner, Math.max(weight, 0.01), delegate);
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        Task task = (Task) runnable;
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                return false;
+            }
+            OwnerQueue queue = owners.computeIfAbsent(task.owner, key -> new OwnerQueue());
+            if (queue.tasks.size() >= maxQueuedPerOwner) {
+                return false;
+            }
+            if (queue.tasks.isEmpty()) {
+                // 쉬던 소유자가 밀린 몫을 한꺼번에 가져가지 않도록 현재 가상 시각부터 시작
+                queue.pass = Math.max(queue.pass, virtualTime);
+            }
+            queue.weight = task.weight;
+            queue.tasks.addLast(task);
+            size++;
+            available.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+        return offer(runnable);
+    }
+
+    @Override
+    public void put(Runnable runnable) {
+        if (!offer(runnable)) {
+            throw new IllegalStateException("작업 큐가 가득 찼습니다");
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = next()) == null) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = next()) == null) {
+                available.await();
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실행 한도에 걸리지 않은 소유자 중 가상 시각이 가장 작은 소유자의 작업 (lock 보유 상태에서 호출)
+     */
+    private Task next() {
+        OwnerQueue selected = null;
+        for (OwnerQueue queue : owners.values()) {
+            if (queue.tasks.isEmpty() || queue.inFlight >= maxInFlightPerOwner) {
+                continue;
+            }
+            if (selected == null || queue.pass < selected.pass) {
+                selected = queue;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+
+        Task task = selected.tasks.pollFirst();
+        size--;
+        selected.inFlight++;
+        virtualTime = selected.pass;
+        selected.pass += 1.0 / selected.weight;
+        return task;
+    }
+
+    private void finished(String owner) {
+        lock.lock();
+        try {
+            OwnerQueue queue = owners.get(owner);
+            if (queue != null) {
+                queue.inFlight--;
+                if (queue.isIdle()) {
+                    owners.remove(owner);
+                }
+            }
+            // 한도에 걸려 있던 작업이 꺼낼 수 있게 되었을 수 있음
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queuedFor(String owner) {
+        return queuedFor(owner::equals);
+    }
+
+    int inFlightFor(String owner) {
+        return inFlightFor(owner::equals);
+    }
+
+    /**
+     * 조건에 맞는 소유자들의 대기 작업 수 합
+     */
+    int queuedFor(Predicate<String> owner) {
+        lock.lock();
+        try {
+            int queued = 0;
+            for (Map.Entry<String, OwnerQueue> entry : owners.entrySet()) {
+                if (owner.test(entry.getKey())) {
+                    queued += entry.getValue().tasks.size();
+                }
+            }
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 소유자들의 실행 중 작업 수 합
+     */
+    int inFlightFor(Predicate<String> owner) {
+        lock.lock();
+        try {
+            int inFlight = 0;
+            for (Map.Entry<String, OwnerQueue> entry : owners.entrySet()) {
+                if (owner.test(entry.getKey())) {
+                    inFlight += entry.getValue().inFlight;
+                }
+            }
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 또는 실행 중인 작업이 있는 소유자 수
+     */
+    int ownerCount() {
+        lock.lock();
+        try {
+            return owners.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            for (OwnerQueue queue : owners.values()) {
+                if (!queue.tasks.isEmpty()) {
+                    return queue.tasks.peekFirst();
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            Iterator<OwnerQueue> iterator = owners.values().iterator();
+            while (iterator.hasNext()) {
+                OwnerQueue queue = iterator.next();
+                if (queue.tasks.remove(o)) {
+                    size--;
+                    if (queue.isIdle()) {
+                        iterator.remove();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 실행 한도와 관계없이 대기 작업을 꺼냄 (풀 종료 시 사용)
+     */
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            Iterator<OwnerQueue> iterator = owners.values().iterator();
+            while (iterator.hasNext()) {
+                OwnerQueue queue = iterator.next();
+                while (drained < maxElements && !queue.tasks.isEmpty()) {
+                    c.add(queue.tasks.pollFirst());
+                    size--;
+                    drained++;
+                }
+                if (queue.isIdle()) {
+                    iterator.remove();
+                }
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 작업의 스냅샷 순회
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        lock.lock();
+        try {
+            List<Runnable> snapshot = new ArrayList<>(size);
+            owners.values().forEach(queue -> snapshot.addAll(queue.tasks));
+            return snapshot.iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class OwnerQueue {
+
+        private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+        private double weight = 1.0;
+        private double pass;
+        private int inFlight;
+
+        private boolean isIdle() {
+            return tasks.isEmpty() && inFlight == 0;
+        }
+    }
+
+    private final class Task implements Runnable {
+
+        private final String owner;
+        private final double weight;
+        private final Runnable delegate;
+
+        private Task(String owner, double weight, Runnable delegate) {
+            this.owner = owner;
+            this.weight = weight;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            try {
+                delegate.run();
+            } finally {
+                finished(owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.securedoc.extractor.service;
+
+/**
+ * 정규식 매칭 중단용 CharSequence 래퍼
+ * Matcher는 매칭 중 charAt만 호출하므로, 일정 호출마다 마감 시각과 스레드 인터럽트를 확인해
+ * 역추적이 길어진 매칭을 예외로 끊는다.
+ */
+final class InterruptibleCharSequence implements CharSequence {
+
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final CharSequence inner;
+    private final long deadlineNanos;
+    private int calls;
+
+    InterruptibleCharSequence(CharSequence inner, long deadlineNanos) {
+        this.inner = inner;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 지금부터 budgetMillis 후의 마감 시각 (0 이하이면 제한 없음)
+     */
+    static long deadlineAfter(long budgetMillis) {
+        return budgetMillis > 0 ? System.nanoTime() + budgetMillis * 1_000_000L : NO_DEADLINE;
+    }
+
+    static boolean isExpired(long deadlineNanos) {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    static void checkDeadline(long deadlineNanos) {
+        if (isExpired(deadlineNanos)) {
+            throw new DeadlineExceededException("필드 추출 시간 예산 초과");
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new DeadlineExceededException("필드 추출 중 인터럽트 발생");
+        }
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++calls >= CHECK_INTERVAL) {
+            calls = 0;
+            checkDeadline(deadlineNanos);
+        }
+        return inner.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return inner.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new InterruptibleCharSequence(inner.subSequence(start, end), deadlineNanos);
+    }
+
+    @Override
+    public String toString() {
+        return inner.toString();
+    }
+
+    static class DeadlineExceededException extends RuntimeException {
+
+        DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.securedoc.extractor.service;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 레인 하나의 가중치 용량과 대기열
+ * 대기열 맨 앞의 요청만 용량을 가져가므로 큰 요청이 작은 요청에 계속 밀리지 않는다.
+ * 마감 시각 순서를 켜면 도착 순서 대신 마감이 빠른 요청부터 용량을 받는다.
+ */
+final class LaneGate {
+
+    enum Result { ACQUIRED, QUEUE_FULL, TIMED_OUT }
+
+    private final int capacity;
+    private final int maxQueued;
+    private final PriorityQueue<Waiter> waiters;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private int inUse;
+    private int queuedWeight;
+    private long sequence;
+
+    LaneGate(int capacity, int maxQueued, boolean deadlineOrdering) {
+        this.capacity = capacity;
+        this.maxQueued = maxQueued;
+        Comparator<Waiter> arrival = Comparator.comparingLong(Waiter::sequence);
+        this.waiters = new PriorityQueue<>(deadlineOrdering
+                ? Comparator.comparingLong(Waiter::deadlineNanos).thenComparing(arrival)
+                : arrival);
+    }
+
+    /**
+     * 최대 timeoutNanos 동안 용량 대기 (대기 요청이 maxQueued 이상이면 바로 QUEUE_FULL)
+     */
+    Result tryAcquire(int weight, long deadlineNanos, long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inUse + weight <= capacity) {
+                inUse += weight;
+                return Result.ACQUIRED;
+            }
+            if (waiters.size() >= maxQueued) {
+                return Result.QUEUE_FULL;
+            }
+            return await(new Waiter(weight, deadlineNanos, sequence++), timeoutNanos, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 용량이 날 때까지 대기 (대기열 길이 제한 없음, 이미 다른 큐로 제한된 백그라운드 작업용)
+     */
+    void acquire(int weight, long deadlineNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inUse + weight <= capacity) {
+                inUse += weight;
+                return;
+            }
+            await(new Waiter(weight, deadlineNanos, sequence++), 0, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(int weight) {
+        lock.lock();
+        try {
+            inUse -= weight;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Result await(Waiter waiter, long timeoutNanos, boolean timed) throws InterruptedException {
+        waiters.add(waiter);
+        queuedWeight += waiter.weight();
+        long remaining = timeoutNanos;
+        try {
+            while (waiters.peek() != waiter || inUse + waiter.weight() > capacity) {
+                if (timed) {
+                    if (remaining <= 0) {
+                        return Result.TIMED_OUT;
+                    }
+                    remaining = changed.awaitNanos(remaining);
+                } else {
+                    changed.await();
+                }
+            }
+            inUse += waiter.weight();
+            return Result.ACQUIRED;
+        } finally {
+            waiters.remove(waiter);
+            queuedWeight -= waiter.weight();
+            // 맨 앞이 바뀌었으므로 다음 대기자가 다시 확인하도록 깨움
+            changed.signalAll();
+        }
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int getInUse() {
+        lock.lock();
+        try {
+            return inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getQueuedWeight() {
+        lock.lock();
+        try {
+            return queuedWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Waiter(int weight, long deadlineNanos, long sequence) {
+    }
+}
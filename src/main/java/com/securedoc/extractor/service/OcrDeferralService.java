@@ -0,0 +1,152 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.repository.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * 과부하 시 OCR 지연 모드 (부하 분산)
+ * OCR 대기열이 길거나 힙 사용률이 높으면 지연 모드로 전환해, OCR이 필요한 문서도 텍스트 레이어만 추출하고
+ * pending-ocr 상태로 바로 저장/응답한다. 미뤄진 OCR은 지연 모드가 풀린 뒤 PendingReprocessService가 마저 수행한다.
+ * 전환 시 기준값보다 조금 낮아져야 해제되어(히스테리시스) 경계에서 모드가 계속 바뀌지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OcrDeferralService {
+
+    private final DocumentRepository documentRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${extraction.ocr-deferral.enabled:true}")
+    private boolean enabled;
+
+    // OCR 레인에서 기다리는 요청/작업 수가 이 값 이상이면 지연 모드
+    @Value("${extraction.ocr-deferral.queue-threshold:8}")
+    private int queueThreshold;
+
+    // 힙 사용률이 이 값 이상이면 지연 모드 (1.0이면 힙 기준 사용 안 함)
+    @Value("${extraction.ocr-deferral.heap-threshold:0.85}")
+    private double heapThreshold;
+
+    // 대기열 해제 기준 = 전환 기준 x 이 비율 (힙은 기준보다 10%p 낮아지면 해제)
+    @Value("${extraction.ocr-deferral.exit-ratio:0.5}")
+    private double exitRatio;
+
+    // OCR 레인 대기열 길이를 알려주는 곳 (입장 제어, 비동기 작업 큐)
+    private final List<IntSupplier> backlogSources = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong pendingOcrDocuments = new AtomicLong();
+    private volatile boolean degraded;
+    private Counter enteredCounter;
+    private Counter exitedCounter;
+    private Counter deferredCounter;
+    private Counter completedCounter;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("extraction.degraded", this, service -> service.degraded ? 1 : 0)
+                .description("OCR 지연 모드 여부 (1: 지연 중)")
+                .register(meterRegistry);
+        Gauge.builder("extraction.ocr-deferral.backlog", pendingOcrDocuments, AtomicLong::get)
+                .description("OCR을 기다리는 pending-ocr 문서 수")
+                .register(meterRegistry);
+        enteredCounter = Counter.builder("extraction.degraded.transitions")
+                .tag("mode", "on")
+                .description("OCR 지연 모드 전환 횟수")
+                .register(meterRegistry);
+        exitedCounter = Counter.builder("extraction.degraded.transitions")
+                .tag("mode", "off")
+                .description("OCR 지연 모드 전환 횟수")
+                .register(meterRegistry);
+        deferredCounter = Counter.builder("extraction.ocr-deferral.deferred")
+                .description("OCR을 미루고 텍스트 레이어만 저장한 문서 수")
+                .register(meterRegistry);
+        completedCounter = Counter.builder("extraction.ocr-deferral.completed")
+                .description("미뤄둔 OCR을 백그라운드에서 마친 문서 수")
+                .register(meterRegistry);
+
+        log.info("OCR 지연 모드 설정: enabled={}, queueThreshold={}, heapThreshold={}, exitRatio={}",
+                enabled, queueThreshold, heapThreshold, exitRatio);
+    }
+
+    public void addBacklogSource(IntSupplier source) {
+        backlogSources.add(source);
+    }
+
+    /**
+     * 지금 OCR을 미뤄야 하는지 (주기적으로 갱신된 모드)
+     */
+    public boolean isDegraded() {
+        return enabled && degraded;
+    }
+
+    public void recordDeferred() {
+        deferredCounter.increment();
+        pendingOcrDocuments.incrementAndGet();
+    }
+
+    public void recordCompleted() {
+        completedCounter.increment();
+        pendingOcrDocuments.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * 대기열 길이와 힙 사용률로 모드 갱신
+     */
+    @Scheduled(fixedDelayString = "${extraction.ocr-deferral.check-interval-ms:1000}")
+    public void evaluate() {
+        if (!enabled) {
+            return;
+        }
+
+        int backlog = 0;
+        for (IntSupplier source : backlogSources) {
+            backlog += source.getAsInt();
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        double heapUsage = heap.getMax() > 0 ? (double) heap.getUsed() / heap.getMax() : 0.0;
+
+        if (!degraded) {
+            if (backlog >= queueThreshold) {
+                enter(String.format("OCR 대기 %d건 (기준 %d)", backlog, queueThreshold));
+            } else if (heapThreshold < 1.0 && heapUsage >= heapThreshold) {
+                enter(String.format("힙 사용률 %.0f%% (기준 %.0f%%)", heapUsage * 100, heapThreshold * 100));
+            }
+        } else if (backlog < Math.max(1, queueThreshold * exitRatio)
+                && (heapThreshold >= 1.0 || heapUsage < heapThreshold - 0.1)) {
+            degraded = false;
+            exitedCounter.increment();
+            log.info("OCR 지연 모드 해제 (OCR 대기 {}건, 힙 {}%)", backlog, Math.round(heapUsage * 100));
+        }
+    }
+
+    private void enter(String cause) {
+        degraded = true;
+        enteredCounter.increment();
+        log.warn("OCR 지연 모드 전환: {}", cause);
+    }
+
+    /**
+     * 백그라운드 워커가 남은 pending-ocr 문서 수를 확인할 때 갱신
+     */
+    public long refreshBacklog() {
+        long count = documentRepository.countByStatus(ExtractionControl.PENDING_OCR);
+        pendingOcrDocuments.set(count);
+        return count;
+    }
+}
@@ -0,0 +1,112 @@
+package com.securedoc.extractor.service;
+
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TessAPI;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 초기화가 끝난 Tesseract 엔진 하나 (네이티브 핸들)
+ * Tesseract 클래스는 doOCR 호출마다 모델을 다시 로드하므로, 핸들을 직접 보관해 재사용한다.
+ * 한 번에 한 스레드만 사용해야 하며 OcrEnginePool을 통해 대여한다.
+ */
+public class OcrEngine {
+
+    private final TessAPI api;
+    private final ITessAPI.TessBaseAPI handle;
+    private final String language;
+
+    // 페이지마다 새로 할당하지 않도록 재사용하는 네이티브 이미지 버퍼
+    private ByteBuffer imageBuffer;
+    private byte[] rowBuffer;
+
+    OcrEngine(String dataPath, String language, int pageSegMode, int engineMode) throws IOException {
+        this.api = TessAPI.INSTANCE;
+        this.language = language;
+        this.handle = api.TessBaseAPICreate();
+
+        if (api.TessBaseAPIInit2(handle, dataPath, language, engineMode) != 0) {
+            api.TessBaseAPIDelete(handle);
+            throw new IOException("Tesseract 초기화 실패 (언어: " + language + ")");
+        }
+        api.TessBaseAPISetPageSegMode(handle, pageSegMode);
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * 이미지 OCR 수행
+     * @param dpi 원본 해상도 (0 이하이면 Tesseract 추정값 사용)
+     */
+    public String recognize(BufferedImage image, int dpi) {
+        BufferedImage gray = toGray(image);
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+
+        api.TessBaseAPISetImage(handle, copyPixels(gray), width, height, 1, width);
+        if (dpi > 0) {
+            api.TessBaseAPISetSourceResolution(handle, dpi);
+        }
+
+        Pointer text = api.TessBaseAPIGetUTF8Text(handle);
+        try {
+            return text != null ? text.getString(0, StandardCharsets.UTF_8.name()) : "";
+        } finally {
+            if (text != null) {
+                api.TessDeleteText(text);
+            }
+            api.TessBaseAPIClear(handle);
+        }
+    }
+
+    void close() {
+        api.TessBaseAPIEnd(handle);
+        api.TessBaseAPIDelete(handle);
+    }
+
+    private BufferedImage toGray(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            return image;
+        }
+
+        BufferedImage gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return gray;
+    }
+
+    private ByteBuffer copyPixels(BufferedImage gray) {
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+        int size = width * height;
+
+        if (imageBuffer == null || imageBuffer.capacity() < size) {
+            imageBuffer = ByteBuffer.allocateDirect(size);
+        }
+        if (rowBuffer == null || rowBuffer.length < width) {
+            rowBuffer = new byte[width];
+        }
+
+        // 서브 이미지일 수 있으므로 래스터에서 행 단위로 복사
+        Raster raster = gray.getRaster();
+        imageBuffer.clear();
+        for (int y = 0; y < height; y++) {
+            raster.getDataElements(0, y, width, 1, rowBuffer);
+            imageBuffer.put(rowBuffer, 0, width);
+        }
+        imageBuffer.flip();
+        return imageBuffer;
+    }
+}
@@ -0,0 +1,214 @@
+package com.securedoc.extractor.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 애플리케이션 시작 시 미리 초기화하는 OCR 엔진 풀
+ * 문서마다 tessdata 경로 탐색과 언어 모델 로드를 반복하지 않도록 엔진을 대여/반납한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OcrEnginePool {
+
+    // ocr.tessdata-path가 비어 있을 때 탐색하는 기본 경로
+    private static final String[] DEFAULT_TESSDATA_PATHS = {
+            "C:/Program Files/Tesseract-OCR/tessdata",
+            "C:/Program Files (x86)/Tesseract-OCR/tessdata",
+            "/usr/share/tesseract-ocr/4.00/tessdata",
+            "/usr/share/tessdata",
+            "./tessdata"
+    };
+
+    // 설정한 언어 로드 실패 시 순서대로 시도
+    private static final String[] FALLBACK_LANGUAGES = { "eng", "kor" };
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ocr.pool.size:2}")
+    private int poolSize;
+
+    @Value("${ocr.pool.borrow-timeout-seconds:60}")
+    private long borrowTimeoutSeconds;
+
+    @Value("${ocr.tessdata-path:}")
+    private String tessdataPath;
+
+    @Value("${ocr.language:kor+eng}")
+    private String language;
+
+    private BlockingQueue<OcrEngine> idleEngines;
+    private final List<OcrEngine> allEngines = new ArrayList<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private String resolvedDataPath;
+    private String resolvedLanguage;
+    private String unavailableReason;
+
+    @PostConstruct
+    public void init() {
+        idleEngines = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+
+        Gauge.builder("ocr.pool.in-use", this, OcrEnginePool::getInUseCount)
+                .description("사용 중인 OCR 엔진 수")
+                .register(meterRegistry);
+        Gauge.builder("ocr.pool.waiting", waiting, AtomicInteger::get)
+                .description("OCR 엔진 대기 중인 요청 수")
+                .register(meterRegistry);
+
+        resolvedDataPath = resolveDataPath();
+        if (resolvedDataPath == null) {
+            unavailableReason = "Tesseract가 설치되지 않았거나 언어 데이터를 찾을 수 없습니다.";
+            log.warn("OCR 엔진 풀 비활성화: {}", unavailableReason);
+            return;
+        }
+
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                OcrEngine engine = createEngine();
+                allEngines.add(engine);
+                idleEngines.add(engine);
+            }
+            log.info("OCR 엔진 풀 초기화 완료: size={}, tessdata={}, language={}",
+                    allEngines.size(), resolvedDataPath, resolvedLanguage);
+
+        } catch (IOException | LinkageError e) {
+            // 네이티브 라이브러리가 없는 환경에서도 애플리케이션은 기동되어야 함
+            if (allEngines.isEmpty()) {
+                unavailableReason = "OCR 엔진 초기화 실패: " + e.getMessage();
+                log.warn("OCR 엔진 풀 비활성화: {}", unavailableReason);
+            } else {
+                log.warn("OCR 엔진 일부만 초기화됨: {}/{}", allEngines.size(), poolSize, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (OcrEngine engine : allEngines) {
+            try {
+                engine.close();
+            } catch (Exception e) {
+                log.warn("OCR 엔진 종료 실패", e);
+            }
+        }
+        allEngines.clear();
+        idleEngines.clear();
+    }
+
+    public boolean isAvailable() {
+        return !allEngines.isEmpty();
+    }
+
+    public String getUnavailableReason() {
+        return unavailableReason;
+    }
+
+    public String getDataPath() {
+        return resolvedDataPath;
+    }
+
+    public String getLanguage() {
+        return resolvedLanguage;
+    }
+
+    public int getSize() {
+        return allEngines.size();
+    }
+
+    public int getInUseCount() {
+        return allEngines.size() - idleEngines.size();
+    }
+
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * 엔진 대여 (사용 후 반드시 release 호출)
+     */
+    public OcrEngine borrow() throws IOException {
+        if (!isAvailable()) {
+            throw new IOException(unavailableReason);
+        }
+
+        waiting.incrementAndGet();
+        try {
+            OcrEngine engine = idleEngines.poll(borrowTimeoutSeconds, TimeUnit.SECONDS);
+            if (engine == null) {
+                throw new IOException("OCR 엔진 대기 시간 초과 (" + borrowTimeoutSeconds + "초)");
+            }
+            return engine;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("OCR 엔진 대기 중 인터럽트 발생", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release(OcrEngine engine) {
+        if (engine != null) {
+            idleEngines.offer(engine);
+        }
+    }
+
+    private String resolveDataPath() {
+        if (tessdataPath != null && !tessdataPath.isBlank()) {
+            return new File(tessdataPath).exists() ? tessdataPath : null;
+        }
+
+        for (String path : DEFAULT_TESSDATA_PATHS) {
+            if (new File(path).exists()) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private OcrEngine createEngine() throws IOException {
+        if (resolvedLanguage != null) {
+            return new OcrEngine(resolvedDataPath, resolvedLanguage, 1, 1);
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        candidates.add(language);
+        candidates.addAll(List.of(FALLBACK_LANGUAGES));
+
+        IOException lastError = null;
+        for (String lang : candidates) {
+            try {
+                // 자동 페이지 분할(1), LSTM 엔진(1)
+                OcrEngine engine = new OcrEngine(resolvedDataPath, lang, 1, 1);
+                resolvedLanguage = lang;
+                if (!lang.equals(language)) {
+                    log.warn("OCR 언어 {} 로드 실패, {}로 대체", language, lang);
+                }
+                return engine;
+            } catch (IOException e) {
+                log.debug("언어 {} 설정 실패", lang);
+                lastError = e;
+            }
+        }
+        throw new IOException("OCR 언어 데이터를 로드할 수 없습니다. kor.traineddata 또는 eng.traineddata 파일이 필요합니다.",
+                lastError);
+    }
+}
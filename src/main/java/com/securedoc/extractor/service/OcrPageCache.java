@@ -0,0 +1,271 @@
+package com.securedoc.extractor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 페이지 이미지 단위 OCR 결과 디스크 캐시
+ * 키는 이미지 내용(렌더링 픽셀 또는 내장 이미지의 인코딩 바이트) 해시와 OCR 언어, DPI로 만든다.
+ * 전체 크기를 넘으면 가장 오래 사용하지 않은 항목부터 지우며, 사용 순서는 파일 수정 시각으로 보존되어
+ * 재시작 후에도 이어진다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OcrPageCache {
+
+    private static final String SUFFIX = ".txt";
+
+    private final OcrEnginePool ocrEnginePool;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ocr.page-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ocr.page-cache.dir:ocr_cache}")
+    private String cacheDir;
+
+    @Value("${ocr.page-cache.max-size-mb:512}")
+    private long maxSizeMb;
+
+    // 키 -> 파일 크기 (접근 순서)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private Path root;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    public void init() {
+        hitCounter = Counter.builder("ocr.page-cache.requests")
+                .tag("result", "hit")
+                .description("OCR 페이지 캐시 조회 수")
+                .register(meterRegistry);
+        missCounter = Counter.builder("ocr.page-cache.requests")
+                .tag("result", "miss")
+                .description("OCR 페이지 캐시 조회 수")
+                .register(meterRegistry);
+        Gauge.builder("ocr.page-cache.size", this, OcrPageCache::getTotalBytes)
+                .description("OCR 페이지 캐시 디스크 사용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+
+        root = Paths.get(cacheDir);
+        try {
+            Files.createDirectories(root);
+            loadEntries();
+        } catch (IOException e) {
+            log.warn("OCR 페이지 캐시 비활성화: {} ({})", cacheDir, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * 렌더링한 래스터의 픽셀로 키 생성
+     */
+    public String rasterKey(BufferedImage image, int dpi) {
+        MessageDigest digest = sha256();
+        Raster raster = image.getRaster();
+        int width = image.getWidth();
+        int[] row = new int[width * raster.getNumBands()];
+        byte[] bytes = new byte[row.length];
+
+        digest.update(("raster:" + width + "x" + image.getHeight() + ":").getBytes(StandardCharsets.US_ASCII));
+        for (int y = 0; y < image.getHeight(); y++) {
+            raster.getPixels(0, y, width, 1, row);
+            for (int i = 0; i < row.length; i++) {
+                bytes[i] = (byte) row[i];
+            }
+            digest.update(bytes);
+        }
+        return finishKey(digest, dpi);
+    }
+
+    /**
+     * 내장 스캔 이미지의 인코딩된 스트림으로 키 생성 (디코딩하지 않음)
+     */
+    public String encodedImageKey(PDImageXObject image, int dpi) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(("image:" + image.getWidth() + "x" + image.getHeight() + ":")
+                .getBytes(StandardCharsets.US_ASCII));
+
+        byte[] buffer = new byte[8192];
+        try (InputStream in = image.getCOSObject().createRawInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return finishKey(digest, dpi);
+    }
+
+    /**
+     * 캐시된 OCR 텍스트 (없으면 null)
+     */
+    public String get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (!entries.containsKey(key)) {
+                missCounter.increment();
+                return null;
+            }
+            entries.get(key); // 접근 순서 갱신
+        }
+
+        Path file = pathOf(key);
+        try {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hitCounter.increment();
+            return text;
+        } catch (IOException e) {
+            log.debug("OCR 캐시 파일 읽기 실패: {}", file, e);
+            remove(key);
+            missCounter.increment();
+            return null;
+        }
+    }
+
+    public void put(String key, String text) {
+        if (!enabled || text == null) {
+            return;
+        }
+
+        Path file = pathOf(key);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("OCR 캐시 저장 실패: {}", file, e);
+            return;
+        }
+
+        synchronized (this) {
+            Long previous = entries.put(key, (long) bytes.length);
+            totalBytes += bytes.length - (previous != null ? previous : 0);
+            evictIfNeeded();
+        }
+    }
+
+    private void loadEntries() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).toList();
+        }
+
+        List<CachedFile> cached = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            try {
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    cached.add(new CachedFile(name.substring(0, name.length() - SUFFIX.length()),
+                            Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+                }
+            } catch (IOException e) {
+                log.debug("OCR 캐시 파일 확인 실패: {}", file, e);
+            }
+        }
+        // 오래전에 사용한 파일부터 넣어 접근 순서를 복원
+        cached.sort(Comparator.comparingLong(CachedFile::lastUsed));
+
+        synchronized (this) {
+            for (CachedFile file : cached) {
+                entries.put(file.key(), file.size());
+                totalBytes += file.size();
+            }
+            evictIfNeeded();
+        }
+        log.info("OCR 페이지 캐시 로드: {}개 항목, {} KB ({})", entries.size(), totalBytes / 1024, root);
+    }
+
+    private void evictIfNeeded() {
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(pathOf(eldest.getKey()));
+            } catch (IOException e) {
+                log.debug("OCR 캐시 파일 삭제 실패: {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private String finishKey(MessageDigest digest, int dpi) {
+        digest.update((":" + ocrEnginePool.getLanguage() + ":" + dpi).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key + SUFFIX);
+    }
+
+    private record CachedFile(String key, long size, long lastUsed) {
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.securedoc.extractor.service;
+
+import lombok.Data;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * 페이지별 텍스트 레이어/이미지 분석 결과
+ */
+@Data
+public class PageAnalysis {
+
+    private final int pageIndex;
+
+    // 텍스트 레이어에서 추출한 텍스트
+    private final String text;
+
+    // 페이지 면적 대비 이미지가 그려진 면적 비율 (0.0 ~ 1.0)
+    private final double imageCoverage;
+
+    private boolean needsOcr;
+
+    // 페이지 전체를 덮는 단일 스캔 이미지 (렌더링 없이 직접 OCR 가능한 경우에만 설정)
+    private PDImageXObject scanImage;
+
+    // 스캔 이미지의 실제 해상도
+    private int scanImageDpi;
+
+    public int getTextLength() {
+        return text != null ? text.trim().length() : 0;
+    }
+}
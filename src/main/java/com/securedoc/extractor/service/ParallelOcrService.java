@@ -0,0 +1,447 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.model.ExtractionResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 페이지 단위 병렬 OCR
+ * 렌더링은 호출 스레드에서 순차 수행하고(PDFRenderer는 스레드 안전하지 않음),
+ * OCR은 워커 풀에서 동시에 수행한다. 문서당 동시에 메모리에 존재하는 래스터는
+ * ocr.parallel.max-buffered-pages 개로 제한되며, 그레이스케일로 렌더링한 버퍼는 풀에서 재사용한다.
+ * 이미지 내용이 같은 페이지는 OCR 페이지 캐시의 결과를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParallelOcrService {
+
+    // 페이지 결과를 기다리는 동안 취소/시간 초과를 확인하는 간격
+    private static final long STOP_CHECK_INTERVAL_MS = 200;
+    // 이 값보다 밝은 픽셀만 있는 행을 줄 사이 여백으로 봄 (0 검정 ~ 255 흰색)
+    private static final int BLANK_ROW_THRESHOLD = 200;
+    // 겹쳐 렌더링한 띠를 합칠 때 중복으로 보고 지우는 최대 줄 수
+    private static final int MAX_OVERLAP_LINES = 5;
+
+    private final OcrEnginePool ocrEnginePool;
+    private final RasterBufferPool rasterBufferPool;
+    private final OcrPageCache ocrPageCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ocr.parallel.workers:2}")
+    private int workers;
+
+    @Value("${ocr.parallel.max-buffered-pages:2}")
+    private int maxBufferedPages;
+
+    // 이 픽셀 수를 넘는 페이지는 가로 띠 단위로 렌더링/OCR (0이면 사용 안 함)
+    @Value("${ocr.strip.max-page-pixels:0}")
+    private long stripMaxPagePixels;
+
+    @Value("${ocr.strip.height:2000}")
+    private int stripHeight;
+
+    // 띠 경계 위쪽에서 줄 사이 여백을 찾는 높이 (여백이 없으면 이만큼 겹쳐 렌더링, 픽셀)
+    @Value("${ocr.strip.overlap:96}")
+    private int stripOverlap;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "ocr-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }), "ocr.parallel");
+        log.info("병렬 OCR 워커 초기화: workers={}, maxBufferedPages={}", workers, maxBufferedPages);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 지정한 페이지들을 OCR하여 입력 순서대로 반환
+     * 실패한 페이지는 WARN 로그를 남기고 null로 채운다.
+     * control이 취소되거나 시간 예산을 넘으면 새 페이지를 시작하지 않고, 끝난 페이지만 반환한다.
+     */
+    public List<String> recognizePages(PDDocument document, List<PageAnalysis> pages, int dpi,
+                                       ExtractionResult result, ExtractionControl control) {
+        PDFRenderer renderer = new PDFRenderer(document);
+        Semaphore bufferedRasters = new Semaphore(Math.max(1, maxBufferedPages));
+        RasterUsage usage = new RasterUsage();
+        List<CompletableFuture<String>> futures = new ArrayList<>(pages.size());
+
+        for (int i = 0; i < pages.size(); i++) {
+            if (control.isStopped()) {
+                break;
+            }
+
+            PageAnalysis page = pages.get(i);
+            result.addLog("INFO", String.format("페이지 %d/%d OCR 처리 중...", i + 1, pages.size()));
+
+            try {
+                CompletableFuture<String> future = submitPage(document, renderer, page, dpi, bufferedRasters,
+                        usage, result, control);
+                future.whenComplete((text, error) -> result.ocrPageCompleted());
+                futures.add(future);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.addLog("WARN", "OCR 중단됨 (인터럽트)");
+                break;
+            } catch (Exception e) {
+                int pageNumber = page.getPageIndex() + 1;
+                log.warn("페이지 " + pageNumber + " 렌더링 실패", e);
+                result.addLog("WARN", "페이지 " + pageNumber + " OCR 실패: " + e.getMessage());
+                result.ocrPageCompleted();
+                futures.add(null);
+            }
+        }
+
+        List<String> pageTexts = collect(futures, pages, result, control);
+        result.addLog("INFO", String.format("OCR 래스터 최대 메모리: %.1f MB",
+                usage.peak.get() / (1024.0 * 1024.0)));
+        return pageTexts;
+    }
+
+    private CompletableFuture<String> submitPage(PDDocument document, PDFRenderer renderer, PageAnalysis page,
+                                                 int dpi, Semaphore bufferedRasters, RasterUsage usage,
+                                                 ExtractionResult result, ExtractionControl control)
+            throws IOException, InterruptedException {
+        int pageIndex = page.getPageIndex();
+
+        // 스캔 이미지 한 장으로 된 페이지는 내장 이미지를 원본 해상도로 디코딩
+        if (page.getScanImage() != null) {
+            // 캐시 키는 인코딩된 스트림으로 만들어, 적중하면 디코딩도 생략
+            String cacheKey = encodedImageKey(page);
+            String cached = cacheKey != null ? ocrPageCache.get(cacheKey) : null;
+            if (cached != null) {
+                result.addLog("INFO", String.format("페이지 %d: OCR 캐시 사용", pageIndex + 1));
+                return CompletableFuture.completedFuture(cached);
+            }
+
+            bufferedRasters.acquire();
+            try {
+                BufferedImage image = page.getScanImage().getImage();
+                result.addLog("INFO", String.format("페이지 %d: 내장 이미지 직접 OCR (%d DPI)",
+                        pageIndex + 1, page.getScanImageDpi()));
+                return submitOcr(image, page.getScanImageDpi(), false, cacheKey, bufferedRasters, usage, control);
+            } catch (IOException | RuntimeException e) {
+                bufferedRasters.release();
+                log.debug("페이지 {} 내장 이미지 디코딩 실패, 렌더링으로 대체", pageIndex + 1, e);
+            }
+        }
+
+        float scale = dpi / 72f;
+        PDPage pdPage = document.getPage(pageIndex);
+        PDRectangle cropBox = pdPage.getCropBox();
+        boolean rotated = pdPage.getRotation() == 90 || pdPage.getRotation() == 270;
+        float widthPt = rotated ? cropBox.getHeight() : cropBox.getWidth();
+        float heightPt = rotated ? cropBox.getWidth() : cropBox.getHeight();
+        int width = (int) Math.max(Math.floor(widthPt * scale), 1);
+        int height = (int) Math.max(Math.floor(heightPt * scale), 1);
+
+        boolean useStrips = stripMaxPagePixels > 0 && stripHeight > 0
+                && (long) width * height > stripMaxPagePixels;
+        if (!useStrips) {
+            bufferedRasters.acquire();
+            try {
+                BufferedImage image = renderRegion(renderer, pageIndex, scale, width, height, 0);
+                return submitOcr(image, dpi, true, null, bufferedRasters, usage, control);
+            } catch (IOException | RuntimeException e) {
+                bufferedRasters.release();
+                throw e;
+            }
+        }
+
+        // 큰 페이지는 가로 띠 단위로 렌더링해 한 번에 한 띠 크기의 래스터만 유지
+        // 띠 경계에 걸친 줄이 잘리지 않도록 경계 위쪽의 줄 사이 여백에서 자르고, 그 아래는 다음 띠에서 인식한다.
+        int overlap = Math.max(0, Math.min(stripOverlap, stripHeight / 2));
+        List<CompletableFuture<String>> strips = new ArrayList<>();
+        List<Boolean> overlapsPrevious = new ArrayList<>();
+        boolean overlapping = false;
+        int top = 0;
+        while (top < height) {
+            int rows = Math.min(stripHeight, height - top);
+            int next = top + rows;
+            boolean overlapsNext = false;
+
+            bufferedRasters.acquire();
+            try {
+                BufferedImage strip = renderRegion(renderer, pageIndex, scale, width, rows, top);
+                if (next < height && overlap > 0) {
+                    int cut = findBlankRow(strip, rows - overlap, rows);
+                    if (cut > 0) {
+                        clearRows(strip, cut, rows);
+                        next = top + cut;
+                    } else {
+                        // 여백이 없으면 겹쳐 렌더링하고, 두 띠에서 모두 인식된 줄은 합칠 때 한 번만 남김
+                        next = top + rows - overlap;
+                        overlapsNext = true;
+                    }
+                }
+                strips.add(submitOcr(strip, dpi, true, null, bufferedRasters, usage, control));
+            } catch (IOException | RuntimeException e) {
+                bufferedRasters.release();
+                throw e;
+            }
+            overlapsPrevious.add(overlapping);
+            overlapping = overlapsNext;
+            top = next;
+        }
+        result.addLog("INFO", String.format("페이지 %d: %d개 띠로 나누어 OCR", pageIndex + 1, strips.size()));
+
+        return CompletableFuture.allOf(strips.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> joinStrips(strips.stream().map(CompletableFuture::join).toList(),
+                        overlapsPrevious));
+    }
+
+    /**
+     * [from, to) 행 중 아래쪽부터 찾은 첫 빈 행 (글자가 걸치지 않은 줄 사이 여백, 없으면 -1)
+     */
+    static int findBlankRow(BufferedImage image, int from, int to) {
+        Raster raster = image.getRaster();
+        int[] samples = new int[image.getWidth()];
+        for (int y = to - 1; y >= Math.max(0, from); y--) {
+            raster.getSamples(0, y, image.getWidth(), 1, 0, samples);
+            boolean blank = true;
+            for (int sample : samples) {
+                if (sample < BLANK_ROW_THRESHOLD) {
+                    blank = false;
+                    break;
+                }
+            }
+            if (blank) {
+                return y;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * [from, to) 행을 흰색으로 지움 (다음 띠에서 온전히 인식할 줄의 윗부분)
+     */
+    private static void clearRows(BufferedImage image, int from, int to) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, from, image.getWidth(), to - from);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * 띠별 OCR 결과를 위에서부터 합침
+     * 앞 띠와 겹쳐 렌더링한 띠는 앞 띠의 마지막 줄들과 같은 내용으로 시작하는 줄을 한 번만 남긴다.
+     */
+    static String joinStrips(List<String> texts, List<Boolean> overlapsPrevious) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            List<String> stripLines = text.lines().filter(line -> !line.isBlank()).toList();
+            if (overlapsPrevious.get(i)) {
+                stripLines = stripLines.subList(duplicatedLines(lines, stripLines), stripLines.size());
+            }
+            lines.addAll(stripLines);
+        }
+        return String.join("\n", lines);
+    }
+
+    private static int duplicatedLines(List<String> previous, List<String> next) {
+        for (int n = Math.min(MAX_OVERLAP_LINES, Math.min(previous.size(), next.size())); n > 0; n--) {
+            boolean same = true;
+            for (int k = 0; k < n && same; k++) {
+                same = normalizeLine(previous.get(previous.size() - n + k)).equals(normalizeLine(next.get(k)));
+            }
+            if (same) {
+                return n;
+            }
+        }
+        return 0;
+    }
+
+    private static String normalizeLine(String line) {
+        return line.replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * 페이지의 [top, top + height) 영역을 풀에서 빌린 그레이스케일 버퍼에 렌더링
+     */
+    private BufferedImage renderRegion(PDFRenderer renderer, int pageIndex, float scale,
+                                       int width, int height, int top) throws IOException {
+        BufferedImage image = rasterBufferPool.acquire(width, height);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setBackground(Color.WHITE);
+            g.clearRect(0, 0, width, height);
+            g.translate(0, -top);
+            renderer.renderPageToGraphics(pageIndex, g, scale);
+        } catch (IOException | RuntimeException e) {
+            rasterBufferPool.release(image);
+            throw e;
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private String encodedImageKey(PageAnalysis page) {
+        if (!ocrPageCache.isEnabled()) {
+            return null;
+        }
+        try {
+            return ocrPageCache.encodedImageKey(page.getScanImage(), page.getScanImageDpi());
+        } catch (IOException e) {
+            log.debug("페이지 {} 내장 이미지 해시 실패", page.getPageIndex() + 1, e);
+            return null;
+        }
+    }
+
+    /**
+     * @param cacheKey 미리 계산한 OCR 캐시 키 (null이면 워커에서 래스터 픽셀로 계산해 캐시를 조회)
+     */
+    private CompletableFuture<String> submitOcr(BufferedImage image, int dpi, boolean pooled, String cacheKey,
+                                                Semaphore bufferedRasters, RasterUsage usage,
+                                                ExtractionControl control) {
+        long bytes = RasterBufferPool.sizeOf(image);
+        usage.add(bytes);
+
+        return CompletableFuture.supplyAsync(() -> {
+            OcrEngine engine = null;
+            try {
+                // 대기 중에 취소/시간 초과된 페이지는 OCR 엔진을 점유하지 않고 건너뜀
+                if (control.isStopped()) {
+                    return null;
+                }
+
+                String key = cacheKey;
+                if (key == null && ocrPageCache.isEnabled()) {
+                    key = ocrPageCache.rasterKey(image, dpi);
+                    String cached = ocrPageCache.get(key);
+                    if (cached != null) {
+                        return cached;
+                    }
+                }
+
+                engine = ocrEnginePool.borrow();
+                String text = engine.recognize(image, dpi);
+                if (key != null) {
+                    ocrPageCache.put(key, text);
+                }
+                return text;
+            } catch (IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            } finally {
+                ocrEnginePool.release(engine);
+                usage.remove(bytes);
+                if (pooled) {
+                    rasterBufferPool.release(image);
+                }
+                bufferedRasters.release();
+            }
+        }, executor);
+    }
+
+    private List<String> collect(List<CompletableFuture<String>> futures, List<PageAnalysis> pages,
+                                 ExtractionResult result, ExtractionControl control) {
+        List<String> pageTexts = new ArrayList<>(pages.size());
+
+        for (int i = 0; i < pages.size(); i++) {
+            CompletableFuture<String> future = i < futures.size() ? futures.get(i) : null;
+            if (future == null) {
+                pageTexts.add(null);
+                continue;
+            }
+
+            int page = pages.get(i).getPageIndex();
+            try {
+                pageTexts.add(await(future, control));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("페이지 " + (page + 1) + " OCR 실패", cause);
+                result.addLog("WARN", "페이지 " + (page + 1) + " OCR 실패: " + cause.getMessage());
+                pageTexts.add(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.stream().skip(i).filter(f -> f != null).forEach(f -> f.cancel(true));
+                result.addLog("WARN", "OCR 중단됨 (인터럽트)");
+                while (pageTexts.size() < pages.size()) {
+                    pageTexts.add(null);
+                }
+                break;
+            }
+        }
+
+        return pageTexts;
+    }
+
+    /**
+     * 페이지 결과 대기 (중단되면 진행 중인 페이지를 기다리지 않고 null 반환)
+     * 이미 실행 중인 OCR은 워커에서 끝까지 수행된 뒤 자원을 반납한다.
+     */
+    private String await(CompletableFuture<String> future, ExtractionControl control)
+            throws ExecutionException, InterruptedException {
+        while (true) {
+            if (control.isStopped() && !future.isDone()) {
+                return null;
+            }
+            try {
+                return future.get(STOP_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 중단 여부 다시 확인
+            }
+        }
+    }
+
+    /**
+     * 문서 하나가 동시에 점유한 래스터 메모리 추적
+     */
+    private static class RasterUsage {
+
+        private final AtomicLong current = new AtomicLong();
+        private final AtomicLong peak = new AtomicLong();
+
+        void add(long bytes) {
+            long now = current.addAndGet(bytes);
+            peak.accumulateAndGet(now, Math::max);
+        }
+
+        void remove(long bytes) {
+            current.addAndGet(-bytes);
+        }
+    }
+}
@@ -1,66 +1,106 @@
 package com.securedoc.extractor.service;
 
 import com.securedoc.extractor.model.ExtractionResult;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.Tesseract;
-import net.sourceforge.tess4j.TesseractException;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.rendering.PDFRenderer;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class PdfExtractionService {
 
-    private static final Pattern CONTRACT_PARTY_PATTERN = Pattern.compile(
-            "(주식회사|\\(주\\)|㈜)\\s*([가-힣A-Za-z0-9&\\s]{2,30})\\s*\\(이하\\s*[\"']?(갑|을)[\"']?\\s*이라\\s*한다\\)",
-            Pattern.CASE_INSENSITIVE);
+    /**
+     * 추출 규칙 버전
+     * 필드 패턴이나 텍스트 추출 방식이 바뀌어 같은 PDF의 결과가 달라질 수 있으면 올린다.
+     * 추출 결과 캐시의 키에 포함된다.
+     */
+    public static final int RULES_VERSION = 1;
 
-    private static final Pattern DATE_RANGE_PATTERN = Pattern.compile(
-            "(계약\\s*기간은?|기간은?).*?" +
-                    "(\\d{4}[년/-]\\s*\\d{1,2}[월/-]?\\s*\\d{1,2}일?).*?" +
-                    "(부터|から).*?" +
-                    "(\\d{4}[년/-]\\s*\\d{1,2}[월/-]?\\s*\\d{1,2}일?).*?" +
-                    "(까지|まで)",
-            Pattern.DOTALL);
+    // 마지막으로 발급한 문서 ID의 밀리초 값 (병렬 처리 시 ID 중복 방지)
+    private static final AtomicLong LAST_DOC_ID_MILLIS = new AtomicLong();
 
-    // 여러 금액 패턴 시도
-    private static final Pattern AMOUNT_PATTERN_1 = Pattern.compile(
-            "(총\\s*계약\\s*금액은?|금액은?|계약금은?).*?[₩\\(]?([0-9,]+)\\)?\\s*원",
-            Pattern.CASE_INSENSITIVE);
+    private static final int OCR_DPI = 300;
+    private static final int MAX_OCR_PAGES = 10;
 
-    private static final Pattern AMOUNT_PATTERN_2 = Pattern.compile(
-            "₩\\s*([0-9,]+)",
-            Pattern.CASE_INSENSITIVE);
+    private final OcrEnginePool ocrEnginePool;
+    private final ParallelOcrService parallelOcrService;
+    private final PdfPageAnalyzer pdfPageAnalyzer;
+    private final PdfMemoryPolicy pdfMemoryPolicy;
+    private final PdfPreflight pdfPreflight;
 
-    private static final Pattern AMOUNT_PATTERN_3 = Pattern.compile(
-            "\\(\\s*([0-9,]+)\\s*원?\\)",
-            Pattern.CASE_INSENSITIVE);
+    // 필드 추출 방식: single-pass (단일 패스 스캐너) 또는 regex (기존 정규식)
+    @Value("${extraction.field-scanner:single-pass}")
+    private String fieldScanner;
 
-    private static final Pattern KOREAN_NUMBER_PATTERN = Pattern.compile(
-            "(일|이|삼|사|오|육|칠|팔|구)+(십|백|천|만|억|조)?원?");
+    // 문서당 필드 추출 시간 예산 (0이면 제한 없음)
+    @Value("${extraction.field-budget-ms:2000}")
+    private long fieldBudgetMs;
+
+    // 문서 하나의 전체 처리 시간 예산 (초과 시 수집한 텍스트까지만 timeout 상태로 저장, 0이면 제한 없음)
+    @Value("${extraction.document-budget-ms:300000}")
+    private long documentBudgetMs;
+
+    @Value("${extraction.early-exit.enabled:true}")
+    private boolean earlyExitEnabled;
+
+    @Value("${extraction.early-exit.window-pages:2}")
+    private int earlyExitWindowPages;
 
     public ExtractionResult processPdfFile(File file) {
+        return processPdfFile(file, null, newControl());
+    }
+
+    /**
+     * PDF 추출 (listener가 있으면 로그와 OCR 페이지 진행 상황을 발생 즉시 전달)
+     */
+    public ExtractionResult processPdfFile(File file, ExtractionResult.ExtractionListener listener) {
+        return processPdfFile(file, listener, newControl());
+    }
+
+    /**
+     * control로 취소하거나 시간 예산을 넘기면 그때까지 수집한 텍스트로 cancelled / timeout 결과를 반환
+     */
+    public ExtractionResult processPdfFile(File file, ExtractionResult.ExtractionListener listener,
+                                           ExtractionControl control) {
+        control.start();
+
         ExtractionResult result = new ExtractionResult();
-        result.setDocId("DOC-" + System.currentTimeMillis());
+        result.setListener(listener);
+        result.setDocId(newDocId());
         result.setFileName(file.getName());
         result.addLog("INFO", "처리 시작: " + file.getName());
 
         try {
-            String rawText = extractTextFromPdf(file, result);
+            String rawText = extractTextFromPdf(file, result, true, control);
             result.setRawText(rawText);
             result.addLog("INFO", "PDF 텍스트 추출 완료 (" + rawText.length() + " chars)");
 
             extractStructuredData(rawText, result);
 
+            if (control.isStopped()) {
+                result.setTextComplete(false);
+                result.setStatus(control.stopStatus());
+                result.addLog("WARN", control.stopMessage() + " - 수집된 텍스트까지만 저장합니다");
+                return result;
+            }
+
+            if (control.isOcrDeferred()) {
+                result.setTextComplete(false);
+                result.setStatus(ExtractionControl.PENDING_OCR);
+                result.addLog("WARN", "부하가 높아 OCR을 나중에 수행합니다 - 텍스트 레이어 결과를 먼저 저장합니다");
+                return result;
+            }
+
             result.setStatus("completed");
             result.addLog("INFO", "추출 완료");
 
@@ -74,10 +114,58 @@ public class PdfExtractionService {
         return result;
     }
 
-    private String extractTextFromPdf(File file, ExtractionResult result) throws IOException {
+    /**
+     * 문서 ID 생성 (DOC-밀리초)
+     * 여러 파일을 동시에 처리해 같은 밀리초에 요청되어도 겹치지 않도록 이전 값보다 항상 크게 발급한다.
+     */
+    public static String newDocId() {
+        long millis = LAST_DOC_ID_MILLIS.accumulateAndGet(System.currentTimeMillis(),
+                (last, now) -> Math.max(last + 1, now));
+        return "DOC-" + millis;
+    }
+
+    /**
+     * 설정된 문서 처리 시간 예산을 가진 새 취소 핸들
+     */
+    public ExtractionControl newControl() {
+        return new ExtractionControl(documentBudgetMs);
+    }
+
+    /**
+     * 조기 종료 없이 전체 페이지 텍스트 추출 (조기 종료로 생략된 페이지를 나중에 채울 때 사용)
+     * 시간 예산을 넘기면 일부만 추출된 텍스트를 전체로 저장하지 않도록 예외를 던진다.
+     */
+    public String extractFullText(File file) throws IOException {
+        ExtractionResult scratch = new ExtractionResult();
+        ExtractionControl control = newControl();
+        control.start();
+
+        String text = extractTextFromPdf(file, scratch, false, control);
+        if (control.isStopped()) {
+            throw new IOException(control.stopMessage());
+        }
+        return text;
+    }
+
+    private String extractTextFromPdf(File file, ExtractionResult result, boolean allowEarlyExit,
+                                      ExtractionControl control) throws IOException {
+        if (control.isStopped()) {
+            return "";
+        }
+
+        // PDF가 아니거나 잘린/암호화된 파일은 전체 파싱 전에 거부
+        pdfPreflight.verify(file);
+
         PDDocument document = null;
+        PdfMemoryPolicy.Lease memoryLease = null;
         try {
-            document = PDDocument.load(file);
+            // 파일 크기에 따라 메모리 전용 / 임시 파일 혼합 버퍼 선택 (전체 예산 초과 시 대기)
+            memoryLease = pdfMemoryPolicy.acquire(file);
+            document = PDDocument.load(file, memoryLease.getMemoryUsageSetting());
+            if (!memoryLease.isMainMemoryOnly()) {
+                result.addLog("INFO", String.format("대용량 PDF: 임시 파일 버퍼 사용 (메모리 상한 %dMB)",
+                        memoryLease.getReservedMb()));
+            }
 
             // 암호화된 PDF 체크
             if (document.isEncrypted()) {
@@ -92,16 +180,32 @@ public class PdfExtractionService {
                 throw new IOException("유효한 페이지가 없는 PDF 파일입니다");
             }
 
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
+            // 페이지별로 텍스트 레이어 사용 / OCR 여부 결정
+            List<PageAnalysis> pages = pdfPageAnalyzer.analyze(document, control);
+            logPageDecisions(pages, result);
+
+            if (control.isStopped()) {
+                // 분석을 마친 페이지의 텍스트 레이어만 사용
+                result.addLog("WARN", String.format("텍스트 추출 중단: %d/%d 페이지까지 처리",
+                        pages.size(), document.getNumberOfPages()));
+                return assembleText(pages, Map.of());
+            }
+
+            List<PageAnalysis> ocrPages = pages.stream()
+                    .filter(PageAnalysis::isNeedsOcr)
+                    .toList();
 
-            // 추출된 텍스트가 비어있는 경우 OCR 시도
-            if (text == null || text.trim().isEmpty() || text.trim().length() < 100) {
-                result.addLog("INFO", "텍스트 추출 실패. OCR을 시도합니다...");
-                text = extractTextUsingOCR(document, result);
+            if (!ocrPages.isEmpty() && control.isDeferOcr()) {
+                control.markOcrDeferred();
+                result.addLog("INFO", String.format("OCR 대상 %d 페이지를 백그라운드 처리로 미룸", ocrPages.size()));
+                return assembleText(pages, Map.of());
             }
 
-            return text != null ? text : "";
+            Map<Integer, String> ocrTexts = ocrPages.isEmpty()
+                    ? Map.of()
+                    : extractTextUsingOCR(document, pages, ocrPages, result, allowEarlyExit, control);
+
+            return assembleText(pages, ocrTexts);
 
         } catch (org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException e) {
             throw new IOException("암호화된 PDF 파일은 처리할 수 없습니다", e);
@@ -120,148 +224,169 @@ public class PdfExtractionService {
                     log.warn("PDF 문서 닫기 실패", e);
                 }
             }
+            if (memoryLease != null) {
+                memoryLease.close();
+            }
         }
     }
 
-    private String extractTextUsingOCR(PDDocument document, ExtractionResult result) {
-        StringBuilder ocrText = new StringBuilder();
-
-        try {
-            Tesseract tesseract = new Tesseract();
-
-            // Tesseract 데이터 경로 설정 (여러 경로 시도)
-            String[] possiblePaths = {
-                    "C:/Program Files/Tesseract-OCR/tessdata",
-                    "C:/Program Files (x86)/Tesseract-OCR/tessdata",
-                    "/usr/share/tesseract-ocr/4.00/tessdata",
-                    "/usr/share/tessdata",
-                    "./tessdata"
-            };
-
-            boolean tessDataFound = false;
-            for (String path : possiblePaths) {
-                File tessDataDir = new File(path);
-                if (tessDataDir.exists()) {
-                    tesseract.setDatapath(path);
-                    tessDataFound = true;
-                    result.addLog("INFO", "Tesseract 데이터 경로: " + path);
-                    break;
-                }
-            }
-
-            if (!tessDataFound) {
-                result.addLog("ERROR", "Tesseract가 설치되지 않았거나 언어 데이터를 찾을 수 없습니다.");
-                result.addLog("INFO", "Tesseract 설치 방법: https://github.com/tesseract-ocr/tesseract");
-                return "";
-            }
-
-            // 언어 설정 시도 (한글만, 영어만, 둘 다 순서로 시도)
-            String[] languageOptions = { "kor+eng", "eng", "kor" };
-            boolean languageSet = false;
-
-            for (String lang : languageOptions) {
-                try {
-                    tesseract.setLanguage(lang);
-                    languageSet = true;
-                    result.addLog("INFO", "OCR 언어 설정: " + lang);
-                    break;
-                } catch (Exception e) {
-                    log.debug("언어 {} 설정 실패", lang);
-                }
+    private void logPageDecisions(List<PageAnalysis> pages, ExtractionResult result) {
+        int ocrCount = 0;
+        for (PageAnalysis page : pages) {
+            if (page.isNeedsOcr()) {
+                ocrCount++;
             }
+            result.addLog("INFO", String.format("페이지 %d: %s (텍스트 %d자, 이미지 %.0f%%)",
+                    page.getPageIndex() + 1,
+                    page.isNeedsOcr() ? "OCR 대상" : "텍스트 레이어 사용",
+                    page.getTextLength(),
+                    page.getImageCoverage() * 100));
+        }
+        result.addLog("INFO", String.format("페이지 분류 완료: 텍스트 %d, OCR %d",
+                pages.size() - ocrCount, ocrCount));
+    }
 
-            if (!languageSet) {
-                result.addLog("ERROR", "OCR 언어 데이터를 로드할 수 없습니다. kor.traineddata 또는 eng.traineddata 파일이 필요합니다.");
-                return "";
+    private String assembleText(List<PageAnalysis> pages, Map<Integer, String> ocrTexts) {
+        StringBuilder text = new StringBuilder();
+        for (PageAnalysis page : pages) {
+            String ocrText = ocrTexts.get(page.getPageIndex());
+            if (ocrText != null) {
+                text.append(ocrText).append("\n");
+            } else if (page.getText() != null) {
+                // 텍스트 레이어 페이지 또는 OCR 한도를 넘어 생략된 페이지
+                text.append(page.getText());
             }
+        }
+        return text.toString();
+    }
 
-            tesseract.setPageSegMode(1); // 자동 페이지 분할
-            tesseract.setOcrEngineMode(1); // LSTM 엔진 사용
+    /**
+     * OCR 대상 페이지만 OCR 수행
+     * 조기 종료가 허용되면 페이지 창 단위로 OCR하고, 창마다 필드를 추출해 모두 채워지면 중단한다.
+     * @return 페이지 인덱스별 OCR 텍스트 (실패하거나 생략된 페이지는 포함되지 않음)
+     */
+    private Map<Integer, String> extractTextUsingOCR(PDDocument document, List<PageAnalysis> allPages,
+                                                     List<PageAnalysis> ocrPages, ExtractionResult result,
+                                                     boolean allowEarlyExit, ExtractionControl control) {
+        Map<Integer, String> ocrTexts = new HashMap<>();
+
+        if (!ocrEnginePool.isAvailable()) {
+            result.addLog("ERROR", ocrEnginePool.getUnavailableReason());
+            result.addLog("INFO", "Tesseract 설치 방법: https://github.com/tesseract-ocr/tesseract");
+            return ocrTexts;
+        }
 
-            PDFRenderer renderer = new PDFRenderer(document);
-            int pageCount = document.getNumberOfPages();
+        try {
+            result.addLog("INFO", "OCR 언어 설정: " + ocrEnginePool.getLanguage());
 
             // 최대 10페이지까지만 OCR (성능 고려)
-            int maxPages = Math.min(pageCount, 10);
-
-            for (int page = 0; page < maxPages; page++) {
-                try {
-                    result.addLog("INFO", String.format("페이지 %d/%d OCR 처리 중...", page + 1, maxPages));
-
-                    // PDF 페이지를 이미지로 변환 (300 DPI)
-                    BufferedImage image = renderer.renderImageWithDPI(page, 300);
+            List<PageAnalysis> pages = ocrPages.subList(0, Math.min(ocrPages.size(), MAX_OCR_PAGES));
+            result.beginOcrProgress(pages.size());
+            int window = allowEarlyExit && earlyExitEnabled
+                    ? Math.max(1, earlyExitWindowPages)
+                    : pages.size();
+
+            int totalChars = 0;
+            for (int start = 0; start < pages.size(); start += window) {
+                if (control.isStopped()) {
+                    result.addLog("WARN", String.format("OCR 중단: %d/%d 페이지까지 처리", start, pages.size()));
+                    break;
+                }
 
-                    // OCR 수행
-                    String pageText = tesseract.doOCR(image);
+                List<PageAnalysis> windowPages = pages.subList(start, Math.min(start + window, pages.size()));
+                List<String> pageTexts = parallelOcrService.recognizePages(document, windowPages, OCR_DPI, result,
+                        control);
 
+                for (int i = 0; i < windowPages.size(); i++) {
+                    String pageText = pageTexts.get(i);
                     if (pageText != null && !pageText.trim().isEmpty()) {
-                        ocrText.append(pageText).append("\n");
+                        String trimmed = pageText.trim();
+                        ocrTexts.put(windowPages.get(i).getPageIndex(), trimmed);
+                        totalChars += trimmed.length();
                     }
+                }
 
-                } catch (Exception e) {
-                    log.warn("페이지 " + (page + 1) + " OCR 실패", e);
-                    result.addLog("WARN", "페이지 " + (page + 1) + " OCR 실패: " + e.getMessage());
+                int processed = start + windowPages.size();
+                if (processed < pages.size() && allFieldsFound(assembleText(allPages, ocrTexts))) {
+                    result.setTextComplete(false);
+                    result.addLog("INFO", String.format("필수 필드 추출 완료: OCR %d/%d 페이지에서 조기 종료",
+                            processed, pages.size()));
+                    break;
                 }
             }
 
-            if (pageCount > maxPages) {
-                result.addLog("INFO", String.format("성능을 위해 처음 %d 페이지만 OCR 처리했습니다.", maxPages));
+            if (ocrPages.size() > pages.size()) {
+                result.addLog("INFO", String.format("성능을 위해 처음 %d 페이지만 OCR 처리했습니다.", pages.size()));
             }
 
-            String finalText = ocrText.toString().trim();
-            if (!finalText.isEmpty()) {
-                result.addLog("INFO", "OCR로 텍스트 추출 완료 (" + finalText.length() + " chars)");
+            if (totalChars > 0) {
+                result.addLog("INFO", "OCR로 텍스트 추출 완료 (" + totalChars + " chars)");
             } else {
                 result.addLog("WARN", "OCR로 텍스트를 추출할 수 없습니다.");
             }
 
-            return finalText;
-
         } catch (Exception e) {
             log.error("OCR 처리 중 오류 발생", e);
             result.addLog("ERROR", "OCR 실패: " + e.getMessage());
-            return "";
         }
-    }
-
-    private void extractStructuredData(String text, ExtractionResult result) {
-        String normalizedText = normalizeText(text);
 
-        extractContractParties(normalizedText, result);
-        extractDates(normalizedText, result);
-        extractAmount(normalizedText, result);
+        return ocrTexts;
+    }
 
-        calculateConfidence(result);
+    /**
+     * 저장된 원문 텍스트로 구조화 필드만 다시 추출 (PDF 파싱/OCR 없음)
+     */
+    public ExtractionResult extractFieldsFromText(String rawText) {
+        ExtractionResult result = new ExtractionResult();
+        result.setRawText(rawText);
+        extractStructuredData(rawText, result);
+        result.setStatus("completed");
+        return result;
     }
 
-    private String normalizeText(String text) {
-        return text.replaceAll("[\\r\\n]+", " ")
-                .replaceAll("\\s+", " ")
-                .trim();
+    /**
+     * 지금까지 추출한 텍스트로 신뢰도 계산에 쓰이는 5개 필드가 모두 채워지는지 확인
+     */
+    private boolean allFieldsFound(String text) {
+        ExtractionResult probe = new ExtractionResult();
+        extractStructuredData(text, probe);
+        return probe.getConfidence() >= 1.0;
     }
 
-    private void extractContractParties(String text, ExtractionResult result) {
-        Matcher matcher = CONTRACT_PARTY_PATTERN.matcher(text);
-        int count = 0;
+    private void extractStructuredData(String text, ExtractionResult result) {
+        long deadline = InterruptibleCharSequence.deadlineAfter(fieldBudgetMs);
+        ContractFields fields = "regex".equalsIgnoreCase(fieldScanner)
+                ? RegexContractFieldExtractor.extract(text, deadline)
+                : ContractFieldScanner.scan(text, deadline);
+
+        if (!fields.timedOut().isEmpty()) {
+            log.warn("필드 추출 시간 예산 초과: {} {} ({} chars, {}ms)",
+                    result.getFileName(), fields.timedOut(), text.length(), fieldBudgetMs);
+        }
+
+        applyContractParties(fields, result);
+        applyDates(fields, result);
+        applyAmount(fields, result);
 
-        while (matcher.find() && count < 2) {
-            String prefix = matcher.group(1);
-            String companyName = matcher.group(2).trim();
-            String role = matcher.group(3);
+        calculateConfidence(result);
+    }
 
-            String fullName = normalizeCompanyName(prefix, companyName);
+    private void applyContractParties(ContractFields fields, ExtractionResult result) {
+        for (ContractFields.Party party : fields.parties()) {
+            String fullName = normalizeCompanyName(party.prefix(), party.name());
 
-            if ("갑".equals(role)) {
+            if ("갑".equals(party.role())) {
                 result.setContractorA(fullName);
                 result.addLog("INFO", "발주사(갑) 추출: " + fullName);
-            } else if ("을".equals(role)) {
+            } else if ("을".equals(party.role())) {
                 result.setContractorB(fullName);
                 result.addLog("INFO", "수주사(을) 추출: " + fullName);
             }
-            count++;
         }
 
-        if (count == 0) {
+        if (fields.isTimedOut(ContractFields.Field.PARTIES)) {
+            result.addLog("WARN", timeoutMessage("계약 당사자"));
+        } else if (fields.parties().isEmpty()) {
             result.addLog("WARN", "계약 당사자 정보를 찾을 수 없습니다");
         }
     }
@@ -274,15 +399,12 @@ public class PdfExtractionService {
         return "주식회사 " + name;
     }
 
-    private void extractDates(String text, ExtractionResult result) {
-        Matcher matcher = DATE_RANGE_PATTERN.matcher(text);
-
-        if (matcher.find()) {
-            String startDateRaw = matcher.group(2).trim();
-            String endDateRaw = matcher.group(4).trim();
-
-            result.setStartDate(normalizeDate(startDateRaw));
-            result.setEndDate(normalizeDate(endDateRaw));
+    private void applyDates(ContractFields fields, ExtractionResult result) {
+        if (fields.isTimedOut(ContractFields.Field.PERIOD)) {
+            result.addLog("WARN", timeoutMessage("계약 기간"));
+        } else if (fields.startDate() != null && fields.endDate() != null) {
+            result.setStartDate(fields.startDate());
+            result.setEndDate(fields.endDate());
 
             result.addLog("INFO", "계약 기간 추출: " + result.getStartDate() + " ~ " + result.getEndDate());
         } else {
@@ -290,54 +412,36 @@ public class PdfExtractionService {
         }
     }
 
-    private String normalizeDate(String dateStr) {
-        if (dateStr == null || dateStr.isBlank()) {
-            return null;
-        }
-
-        Matcher matcher = Pattern.compile("(\\d{4})[년/-]\\s*(\\d{1,2})[월/-]?\\s*(\\d{1,2})").matcher(dateStr);
-
-        if (matcher.find()) {
-            return String.format("%s-%02d-%02d",
-                    matcher.group(1),
-                    Integer.parseInt(matcher.group(2)),
-                    Integer.parseInt(matcher.group(3)));
-        }
-
-        return dateStr;
-    }
-
-    private void extractAmount(String text, ExtractionResult result) {
+    private void applyAmount(ContractFields fields, ExtractionResult result) {
         // 패턴 1: "총 계약 금액은 ... (₩100,000,000)" 형식
-        Matcher matcher1 = AMOUNT_PATTERN_1.matcher(text);
-        if (matcher1.find()) {
-            String amountStr = matcher1.group(2).replaceAll("[,\\s₩]", "");
-            if (tryParseAmount(amountStr, result, "패턴1")) {
-                return;
-            }
+        if (fields.amountPattern1() != null
+                && tryParseAmount(fields.amountPattern1().replace(",", ""), result, "패턴1")) {
+            return;
         }
 
         // 패턴 2: "₩100,000,000" 형식
-        Matcher matcher2 = AMOUNT_PATTERN_2.matcher(text);
-        if (matcher2.find()) {
-            String amountStr = matcher2.group(1).replaceAll("[,\\s]", "");
-            if (tryParseAmount(amountStr, result, "패턴2")) {
-                return;
-            }
+        if (fields.amountPattern2() != null
+                && tryParseAmount(fields.amountPattern2().replace(",", ""), result, "패턴2")) {
+            return;
         }
 
         // 패턴 3: "(100,000,000)" 괄호 안의 숫자
-        Matcher matcher3 = AMOUNT_PATTERN_3.matcher(text);
-        if (matcher3.find()) {
-            String amountStr = matcher3.group(1).replaceAll("[,\\s]", "");
-            if (tryParseAmount(amountStr, result, "패턴3")) {
-                return;
-            }
+        if (fields.amountPattern3() != null
+                && tryParseAmount(fields.amountPattern3().replace(",", ""), result, "패턴3")) {
+            return;
         }
 
+        if (fields.isTimedOut(ContractFields.Field.AMOUNT)) {
+            result.addLog("WARN", timeoutMessage("계약 금액"));
+            return;
+        }
         result.addLog("WARN", "계약 금액 정보를 찾을 수 없습니다");
     }
 
+    private String timeoutMessage(String fieldName) {
+        return String.format("%s 추출 시간 예산 초과 (%dms), 해당 필드를 건너뜁니다", fieldName, fieldBudgetMs);
+    }
+
     private boolean tryParseAmount(String amountStr, ExtractionResult result, String patternName) {
         try {
             long amount = Long.parseLong(amountStr);
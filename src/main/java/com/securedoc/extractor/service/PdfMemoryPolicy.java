@@ -0,0 +1,132 @@
+package com.securedoc.extractor.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 로드 메모리 정책
+ * 작은 파일은 메모리에서만 파싱하고, 큰 파일은 문서별 메모리 상한을 둔 임시 파일 기반 버퍼를 사용한다.
+ * 전체 예산(MB)을 넘는 동시 로드는 예산이 반환될 때까지 대기한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfMemoryPolicy {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final MeterRegistry meterRegistry;
+
+    // 이 크기 이하의 파일은 메모리에서만 파싱
+    @Value("${pdf.memory.main-memory-threshold-mb:8}")
+    private long mainMemoryThresholdMb;
+
+    // 큰 파일의 문서별 메모리 상한 (초과분은 임시 파일 사용)
+    @Value("${pdf.memory.max-main-memory-mb:16}")
+    private long maxMainMemoryMb;
+
+    @Value("${pdf.memory.temp-dir:}")
+    private String tempDir;
+
+    // 동시에 로드되는 모든 문서가 사용할 수 있는 메모리 예산
+    @Value("${pdf.memory.global-budget-mb:256}")
+    private int globalBudgetMb;
+
+    @Value("${pdf.memory.acquire-timeout-seconds:120}")
+    private long acquireTimeoutSeconds;
+
+    private Semaphore budget;
+
+    @PostConstruct
+    public void init() {
+        budget = new Semaphore(globalBudgetMb, true);
+
+        Gauge.builder("pdf.memory.budget.available", budget, Semaphore::availablePermits)
+                .description("사용 가능한 PDF 로드 메모리 예산 (MB)")
+                .baseUnit("megabytes")
+                .register(meterRegistry);
+        Gauge.builder("pdf.memory.budget.waiting", budget, Semaphore::getQueueLength)
+                .description("메모리 예산 대기 중인 문서 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 파일 크기에 맞는 메모리 설정을 고르고 전체 예산에서 필요한 만큼 확보
+     * 반환된 Lease는 PDDocument를 닫은 뒤 close 해야 한다.
+     */
+    public Lease acquire(File file) throws IOException {
+        long fileSize = file.length();
+        boolean mainMemoryOnly = fileSize <= mainMemoryThresholdMb * MB;
+
+        long neededMb = mainMemoryOnly ? (fileSize + MB - 1) / MB : maxMainMemoryMb;
+        int permits = (int) Math.max(1, Math.min(neededMb, globalBudgetMb));
+
+        try {
+            if (!budget.tryAcquire(permits, acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IOException("PDF 로드 메모리 예산 대기 시간 초과 (" + acquireTimeoutSeconds + "초)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF 로드 메모리 예산 대기 중 인터럽트 발생", e);
+        }
+
+        MemoryUsageSetting setting;
+        if (mainMemoryOnly) {
+            setting = MemoryUsageSetting.setupMainMemoryOnly();
+        } else {
+            setting = MemoryUsageSetting.setupMixed(maxMainMemoryMb * MB);
+            if (tempDir != null && !tempDir.isBlank()) {
+                setting.setTempDir(new File(tempDir));
+            }
+        }
+
+        log.debug("PDF 로드 메모리 정책: {} ({} bytes, 예산 {}MB)",
+                mainMemoryOnly ? "메모리 전용" : "임시 파일 혼합", fileSize, permits);
+        return new Lease(setting, permits, mainMemoryOnly);
+    }
+
+    public class Lease implements AutoCloseable {
+
+        private final MemoryUsageSetting memoryUsageSetting;
+        private final int permits;
+        private final boolean mainMemoryOnly;
+        private boolean released;
+
+        private Lease(MemoryUsageSetting memoryUsageSetting, int permits, boolean mainMemoryOnly) {
+            this.memoryUsageSetting = memoryUsageSetting;
+            this.permits = permits;
+            this.mainMemoryOnly = mainMemoryOnly;
+        }
+
+        public MemoryUsageSetting getMemoryUsageSetting() {
+            return memoryUsageSetting;
+        }
+
+        public boolean isMainMemoryOnly() {
+            return mainMemoryOnly;
+        }
+
+        public int getReservedMb() {
+            return permits;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                budget.release(permits);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.securedoc.extractor.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.apache.pdfbox.contentstream.operator.state.SetMatrix;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.util.Matrix;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 페이지별 OCR 필요 여부 판단
+ * 텍스트 레이어 길이와 페이지 리소스의 이미지 XObject가 덮는 면적으로 분류한다.
+ */
+@Component
+@Slf4j
+public class PdfPageAnalyzer {
+
+    // 문서 전체 텍스트가 이보다 짧으면 텍스트가 부족한 모든 페이지를 OCR (기존 동작 유지)
+    private static final int MIN_DOCUMENT_TEXT_CHARS = 100;
+
+    @Value("${extraction.hybrid.min-text-chars:50}")
+    private int minTextChars;
+
+    @Value("${extraction.hybrid.min-image-coverage:0.3}")
+    private double minImageCoverage;
+
+    @Value("${ocr.direct-image.enabled:true}")
+    private boolean directImageEnabled;
+
+    // 단일 이미지가 이 비율 이상을 덮어야 스캔 페이지로 간주
+    @Value("${ocr.direct-image.min-coverage:0.9}")
+    private double directImageMinCoverage;
+
+    public List<PageAnalysis> analyze(PDDocument document) throws IOException {
+        return analyze(document, ExtractionControl.unlimited());
+    }
+
+    /**
+     * 페이지 사이마다 control을 확인해 취소되거나 시간 예산을 넘으면 그때까지 분석한 페이지만 반환
+     */
+    public List<PageAnalysis> analyze(PDDocument document, ExtractionControl control) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        List<PageAnalysis> pages = new ArrayList<>(pageCount);
+
+        PDFTextStripper stripper = new PDFTextStripper();
+        int documentTextLength = 0;
+
+        for (int i = 0; i < pageCount; i++) {
+            if (control.isStopped()) {
+                log.debug("페이지 분석 중단: {}/{} 페이지", i, pageCount);
+                break;
+            }
+            stripper.setStartPage(i + 1);
+            stripper.setEndPage(i + 1);
+            String text = stripper.getText(document);
+
+            PDPage page = document.getPage(i);
+            ImageAreaCollector images = collectImages(page, i);
+            PageAnalysis analysis = new PageAnalysis(i, text, images.coverage(page));
+            if (directImageEnabled) {
+                detectScanImage(page, images, analysis);
+            }
+            documentTextLength += analysis.getTextLength();
+            pages.add(analysis);
+        }
+
+        boolean documentLacksText = documentTextLength < MIN_DOCUMENT_TEXT_CHARS;
+        for (PageAnalysis analysis : pages) {
+            boolean shortText = analysis.getTextLength() < minTextChars;
+            analysis.setNeedsOcr(shortText
+                    && (analysis.getImageCoverage() >= minImageCoverage || documentLacksText));
+        }
+
+        return pages;
+    }
+
+    private ImageAreaCollector collectImages(PDPage page, int pageIndex) {
+        ImageAreaCollector collector = new ImageAreaCollector();
+        try {
+            collector.processPage(page);
+        } catch (IOException e) {
+            log.debug("페이지 {} 이미지 분석 실패", pageIndex + 1, e);
+            collector.images.clear();
+            collector.imageArea = 0.0;
+        }
+        return collector;
+    }
+
+    /**
+     * 회전/기울임 없이 페이지를 거의 다 덮는 이미지 하나만 있는 페이지는
+     * 페이지를 다시 렌더링하지 않고 내장 이미지를 원본 해상도로 OCR한다.
+     */
+    private void detectScanImage(PDPage page, ImageAreaCollector images, PageAnalysis analysis) {
+        if (images.images.size() != 1 || page.getRotation() != 0) {
+            return;
+        }
+
+        DrawnImage drawn = images.images.get(0);
+        Matrix ctm = drawn.ctm();
+        boolean upright = ctm.getShearX() == 0 && ctm.getShearY() == 0
+                && ctm.getScaleX() > 0 && ctm.getScaleY() > 0;
+        if (!upright || images.coverage(page) < directImageMinCoverage) {
+            return;
+        }
+
+        // 표시 폭(pt)과 이미지 픽셀 폭으로 실제 DPI 계산
+        int dpi = (int) Math.round(drawn.image().getWidth() / (ctm.getScaleX() / 72.0));
+        if (dpi <= 0) {
+            return;
+        }
+
+        analysis.setScanImage(drawn.image());
+        analysis.setScanImageDpi(dpi);
+    }
+
+    /**
+     * 콘텐츠 스트림을 따라가며 그려지는 이미지 면적을 합산
+     */
+    private static class ImageAreaCollector extends PDFStreamEngine {
+
+        private double imageArea;
+        private final List<DrawnImage> images = new ArrayList<>();
+
+        ImageAreaCollector() {
+            addOperator(new Concatenate());
+            addOperator(new SetGraphicsStateParameters());
+            addOperator(new Save());
+            addOperator(new Restore());
+            addOperator(new SetMatrix());
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            if (!"Do".equals(operator.getName())) {
+                super.processOperator(operator, operands);
+                return;
+            }
+            if (operands.isEmpty() || !(operands.get(0) instanceof COSName)) {
+                return;
+            }
+
+            PDXObject xobject = getResources().getXObject((COSName) operands.get(0));
+            if (xobject instanceof PDImageXObject) {
+                // 이미지는 단위 정사각형에 그려지므로 CTM의 배율이 곧 표시 크기
+                Matrix ctm = getGraphicsState().getCurrentTransformationMatrix();
+                imageArea += Math.abs((double) ctm.getScalingFactorX() * ctm.getScalingFactorY());
+                images.add(new DrawnImage((PDImageXObject) xobject, ctm.clone()));
+            } else if (xobject instanceof PDFormXObject) {
+                showForm((PDFormXObject) xobject);
+            }
+        }
+
+        double coverage(PDPage page) {
+            PDRectangle box = page.getCropBox();
+            double pageArea = (double) box.getWidth() * box.getHeight();
+            return pageArea > 0 ? Math.min(1.0, imageArea / pageArea) : 0.0;
+        }
+    }
+
+    private record DrawnImage(PDImageXObject image, Matrix ctm) {
+    }
+}
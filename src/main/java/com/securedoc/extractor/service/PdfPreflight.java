@@ -0,0 +1,403 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.exception.InvalidPdfException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PDF 사전 검사 (전체 파싱 전 빠른 거부)
+ * 파일 앞 1KB의 %PDF 헤더, 끝 8KB의 startxref/%%EOF를 확인하고, xref와 trailer를 따라가며
+ * /Encrypt 여부와 페이지 수(/Root -> /Pages -> /Count), 앞쪽 페이지의 폰트 리소스 유무를 작은 구간 읽기만으로 알아낸다.
+ * PDF가 아니거나 잘린 파일, 암호화된 파일, 페이지가 없는 파일은 PDFBox로 파싱하기 전에 InvalidPdfException으로 거부한다.
+ * 구조를 끝까지 따라가지 못한 경우(xref 스트림, 손상된 오프셋 등)는 거부하지 않고 전체 파싱에 판단을 맡긴다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfPreflight {
+
+    // PDF 명세상 헤더는 앞 1024바이트, %%EOF는 끝 1024바이트 안에 있어야 하지만 뒤에 붙은 쓰레기 바이트를 감안해 넉넉히 읽음
+    private static final int HEADER_WINDOW = 1024;
+    private static final int TAIL_WINDOW = 8192;
+    private static final int OBJECT_WINDOW = 4096;
+    // xref 항목은 개행 포함 항상 20바이트
+    private static final int XREF_ENTRY_LENGTH = 20;
+    private static final int MAX_XREF_SECTIONS = 16;
+    private static final int MAX_XREF_SUBSECTIONS = 1024;
+    // 텍스트 레이어를 확인하는 앞쪽 페이지 수와 페이지 트리를 따라가며 읽는 객체 수 상한
+    private static final int SAMPLE_PAGES = 3;
+    private static final int MAX_PAGE_TREE_READS = 32;
+
+    private static final Pattern ROOT = Pattern.compile("/Root\\s+(\\d+)\\s+\\d+\\s+R");
+    private static final Pattern PAGES = Pattern.compile("/Pages\\s+(\\d+)\\s+\\d+\\s+R");
+    private static final Pattern COUNT = Pattern.compile("/Count\\s+(\\d++)(?!\\s+\\d+\\s+R)");
+    private static final Pattern PREV = Pattern.compile("/Prev\\s+(\\d+)");
+    private static final Pattern ENCRYPT = Pattern.compile("/Encrypt\\b");
+    private static final Pattern OBJECT_HEADER = Pattern.compile("^\\s*\\d+\\s+\\d+\\s+obj");
+    private static final Pattern KIDS = Pattern.compile("/Kids\\s*\\[([^\\]]*)\\]");
+    private static final Pattern REFERENCE = Pattern.compile("(\\d+)\\s+\\d+\\s+R");
+    private static final Pattern RESOURCES = Pattern.compile("/Resources\\s*(?:(<<)|(\\d+)\\s+\\d+\\s+R)");
+    private static final Pattern FONT = Pattern.compile("/Font\\b");
+    private static final Pattern SUBSECTION = Pattern.compile("^\\s*(\\d+)\\s+(\\d+)[ \\t]*\\r?\\n?");
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 사전 검사 결과
+     * @param pageCount 페이지 수 (구조를 따라가지 못했으면 -1)
+     * @param hasFonts 앞쪽 페이지 중 폰트 리소스가 있는 페이지가 있는지 (텍스트 레이어 여부, 확인하지 못했으면 null)
+     */
+    public record Report(String version, int pageCount, Boolean hasFonts) {
+    }
+
+    /**
+     * 처리할 수 없는 파일이면 InvalidPdfException 발생
+     * 파일 읽기 자체가 실패하면 거부하지 않고 전체 파싱에서 다시 판단하도록 페이지 수 미상으로 통과시킨다.
+     */
+    public Report verify(File file) throws InvalidPdfException {
+        long startedNanos = System.nanoTime();
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            return inspect(in);
+        } catch (InvalidPdfException e) {
+            Counter.builder("extraction.preflight.rejected")
+                    .tag("reason", e.getReason())
+                    .description("사전 검사에서 거부한 파일 수")
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("PDF 사전 검사 거부: {} ({})", file.getName(), e.getMessage());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            log.debug("PDF 사전 검사 읽기 실패, 전체 파싱으로 넘김: {} ({})", file.getName(), e.toString());
+            return new Report(null, -1, null);
+        } finally {
+            Timer.builder("extraction.preflight")
+                    .description("PDF 사전 검사 시간")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Report inspect(RandomAccessFile in) throws IOException {
+        long length = in.length();
+        if (length == 0) {
+            throw new InvalidPdfException("empty", "빈 파일입니다");
+        }
+
+        String head = read(in, 0, HEADER_WINDOW);
+        int headerAt = head.indexOf("%PDF-");
+        if (headerAt < 0) {
+            throw new InvalidPdfException("not-pdf", "PDF 파일이 아닙니다 (파일 앞부분에 %PDF 헤더가 없습니다)");
+        }
+        String version = head.substring(headerAt + 5, Math.min(head.length(), headerAt + 8)).trim();
+
+        long tailStart = Math.max(0, length - TAIL_WINDOW);
+        String tail = read(in, tailStart, TAIL_WINDOW);
+        int startXrefAt = tail.lastIndexOf("startxref");
+        if (startXrefAt < 0 || tail.indexOf("%%EOF", startXrefAt) < 0) {
+            throw new InvalidPdfException("truncated",
+                    "파일이 잘렸거나 손상된 PDF입니다 (파일 끝에 startxref/%%EOF가 없습니다)");
+        }
+        long startXref = parseNumber(tail, startXrefAt + "startxref".length());
+
+        try {
+            return inspectStructure(in, version, tail, startXrefAt, startXref, length);
+        } catch (RuntimeException e) {
+            // 비정상적인 숫자나 구조로 따라가지 못한 경우 거부하지 않고 전체 파싱에 판단을 맡김
+            log.debug("PDF 구조 확인 실패, 페이지 수 미상으로 통과: {}", e.toString());
+            return new Report(version, -1, null);
+        }
+    }
+
+    /**
+     * xref/trailer를 따라가 암호화 여부, 페이지 수, 앞쪽 페이지의 폰트 유무 확인
+     */
+    private Report inspectStructure(RandomAccessFile in, String version, String tail, int startXrefAt,
+                                    long startXref, long length) throws IOException {
+        // 최신 trailer부터 /Prev를 따라 이전 증분 갱신의 trailer까지 수집
+        List<XrefSection> sections = new ArrayList<>();
+        long offset = startXref;
+        while (offset > 0 && offset < length && sections.size() < MAX_XREF_SECTIONS) {
+            XrefSection section = readXrefSection(in, offset);
+            if (section == null) {
+                break;
+            }
+            sections.add(section);
+            offset = section.trailer != null ? find(PREV, section.trailer) : -1;
+        }
+
+        String trailer = sections.isEmpty() ? null : sections.get(0).trailer;
+        if (trailer == null) {
+            // startxref 오프셋이 어긋난 파일: 파일 끝의 trailer라도 확인
+            int trailerAt = tail.lastIndexOf("trailer", startXrefAt);
+            trailer = trailerAt >= 0 ? dictionary(tail, trailerAt) : null;
+        }
+        if (trailer == null) {
+            return new Report(version, -1, null);
+        }
+        if (ENCRYPT.matcher(trailer).find()) {
+            throw new InvalidPdfException("encrypted", "암호화된 PDF 파일은 처리할 수 없습니다");
+        }
+
+        String pagesRoot = readPagesRoot(in, sections, trailer, length);
+        long count = pagesRoot != null ? find(COUNT, pagesRoot) : -1;
+        int pageCount = count >= 0 && count <= Integer.MAX_VALUE ? (int) count : -1;
+        if (pageCount == 0) {
+            throw new InvalidPdfException("no-pages", "유효한 페이지가 없는 PDF 파일입니다");
+        }
+        Boolean hasFonts = pageCount > 0 ? probeFonts(in, sections, pagesRoot, length) : null;
+        return new Report(version, pageCount, hasFonts);
+    }
+
+    /**
+     * /Root 카탈로그가 가리키는 페이지 트리 루트(/Pages) 사전 (xref 테이블로 찾을 수 없으면 null)
+     */
+    private String readPagesRoot(RandomAccessFile in, List<XrefSection> sections, String trailer, long length)
+            throws IOException {
+        long root = find(ROOT, trailer);
+        if (root < 0 || sections.isEmpty() || sections.stream().anyMatch(section -> !section.table)) {
+            return null;
+        }
+
+        String catalog = readObject(in, lookup(in, sections, root), length);
+        long pagesRoot = catalog != null ? find(PAGES, catalog) : -1;
+        return pagesRoot >= 0 ? readObject(in, lookup(in, sections, pagesRoot), length) : null;
+    }
+
+    /**
+     * 페이지 트리를 문서 순서로 따라가 앞쪽 SAMPLE_PAGES 페이지에 폰트 리소스가 있는지 확인
+     * 리소스는 상위 /Pages 노드에서 상속될 수 있으므로 가장 가까운 조상의 /Resources를 사용한다.
+     * 트리를 따라가지 못하거나 읽기 상한을 넘으면 null
+     */
+    private Boolean probeFonts(RandomAccessFile in, List<XrefSection> sections, String pagesRoot, long length)
+            throws IOException {
+        Deque<PageRef> pending = new ArrayDeque<>();
+        if (!pushKids(pending, pagesRoot, resources(in, sections, pagesRoot, null, length))) {
+            return null;
+        }
+
+        int reads = 0;
+        int sampled = 0;
+        while (!pending.isEmpty() && sampled < SAMPLE_PAGES) {
+            if (++reads > MAX_PAGE_TREE_READS) {
+                return null;
+            }
+            PageRef ref = pending.pop();
+            String node = readObject(in, lookup(in, sections, ref.objectNumber()), length);
+            if (node == null) {
+                return null;
+            }
+
+            String resources = resources(in, sections, node, ref.inheritedResources(), length);
+            if (KIDS.matcher(node).find()) {
+                if (!pushKids(pending, node, resources)) {
+                    return null;
+                }
+                continue;
+            }
+            if (resources != null && FONT.matcher(resources).find()) {
+                return true;
+            }
+            sampled++;
+        }
+        return sampled > 0 ? Boolean.FALSE : null;
+    }
+
+    /**
+     * 중간 노드의 /Kids를 문서 순서대로 꺼낼 수 있게 스택에 넣음 (/Kids가 없거나 비어 있으면 false)
+     */
+    private static boolean pushKids(Deque<PageRef> pending, String node, String resources) {
+        Matcher kids = KIDS.matcher(node);
+        if (!kids.find()) {
+            return false;
+        }
+        List<Long> refs = new ArrayList<>();
+        Matcher reference = REFERENCE.matcher(kids.group(1));
+        while (reference.find()) {
+            refs.add(parseNumber(reference.group(1), 0));
+        }
+        for (int i = refs.size() - 1; i >= 0; i--) {
+            pending.push(new PageRef(refs.get(i), resources));
+        }
+        return !refs.isEmpty();
+    }
+
+    /**
+     * 노드의 /Resources 사전 (직접 또는 간접 참조, 없으면 상속받은 리소스)
+     */
+    private String resources(RandomAccessFile in, List<XrefSection> sections, String node, String inherited,
+                             long length) throws IOException {
+        Matcher matcher = RESOURCES.matcher(node);
+        if (!matcher.find()) {
+            return inherited;
+        }
+        if (matcher.group(1) != null) {
+            return dictionary(node, matcher.start(1));
+        }
+        return readObject(in, lookup(in, sections, parseNumber(matcher.group(2), 0)), length);
+    }
+
+    /**
+     * startxref가 가리키는 xref 구역 (테이블이면 끝의 trailer, 스트림이면 스트림 사전을 trailer로 사용)
+     */
+    private XrefSection readXrefSection(RandomAccessFile in, long offset) throws IOException {
+        String window = read(in, offset, OBJECT_WINDOW);
+        String trimmed = window.stripLeading();
+        if (trimmed.startsWith("xref")) {
+            long position = offset + (window.length() - trimmed.length()) + "xref".length();
+            for (int i = 0; i < MAX_XREF_SUBSECTIONS; i++) {
+                String line = read(in, position, 64);
+                String rest = line.stripLeading();
+                if (rest.startsWith("trailer")) {
+                    long trailerAt = position + (line.length() - rest.length());
+                    return new XrefSection(offset, true, dictionary(read(in, trailerAt, OBJECT_WINDOW), 0));
+                }
+                Matcher subsection = SUBSECTION.matcher(line);
+                long count = subsection.find() ? parseNumber(subsection.group(2), 0) : -1;
+                if (!isEntryCount(count, in.length())) {
+                    return new XrefSection(offset, true, null);
+                }
+                position += subsection.end() + count * XREF_ENTRY_LENGTH;
+            }
+            return new XrefSection(offset, true, null);
+        }
+        if (OBJECT_HEADER.matcher(window).find() && window.contains("/XRef")) {
+            return new XrefSection(offset, false, dictionary(window, 0));
+        }
+        return null;
+    }
+
+    /**
+     * 최신 구역부터 객체 번호의 파일 오프셋을 찾음 (사용 중(n) 항목만, 없으면 -1)
+     */
+    private long lookup(RandomAccessFile in, List<XrefSection> sections, long objectNumber) throws IOException {
+        for (XrefSection section : sections) {
+            String window = read(in, section.offset, OBJECT_WINDOW);
+            String trimmed = window.stripLeading();
+            long position = section.offset + (window.length() - trimmed.length()) + "xref".length();
+
+            for (int i = 0; i < MAX_XREF_SUBSECTIONS; i++) {
+                String line = read(in, position, 64);
+                Matcher subsection = SUBSECTION.matcher(line);
+                if (line.stripLeading().startsWith("trailer") || !subsection.find()) {
+                    break;
+                }
+                long first = parseNumber(subsection.group(1), 0);
+                long count = parseNumber(subsection.group(2), 0);
+                if (first < 0 || !isEntryCount(count, in.length())) {
+                    break;
+                }
+                long entries = position + subsection.end();
+                if (objectNumber >= first && objectNumber < first + count) {
+                    String entry = read(in, entries + (objectNumber - first) * XREF_ENTRY_LENGTH, XREF_ENTRY_LENGTH);
+                    String[] fields = entry.trim().split("\\s+");
+                    if (fields.length == 3 && "n".equals(fields[2])) {
+                        return parseNumber(fields[0], 0);
+                    }
+                    return -1;
+                }
+                position = entries + count * XREF_ENTRY_LENGTH;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 파일에 실제로 들어갈 수 있는 xref 항목 수인지 (음수나 비정상적으로 큰 값은 구조 미상으로 처리)
+     */
+    private static boolean isEntryCount(long count, long length) {
+        return count >= 0 && count <= length / XREF_ENTRY_LENGTH;
+    }
+
+    private String readObject(RandomAccessFile in, long offset, long length) throws IOException {
+        if (offset <= 0 || offset >= length) {
+            return null;
+        }
+        String window = read(in, offset, OBJECT_WINDOW);
+        Matcher header = OBJECT_HEADER.matcher(window);
+        return header.find() ? dictionary(window, header.end()) : null;
+    }
+
+    /**
+     * from 이후 첫 << ... >> 사전 (중첩 사전 포함, 구간 안에서 닫히지 않으면 구간 끝까지)
+     */
+    private static String dictionary(String text, int from) {
+        int start = text.indexOf("<<", from);
+        if (start < 0) {
+            return null;
+        }
+        int depth = 0;
+        for (int i = start; i < text.length() - 1; i++) {
+            if (text.startsWith("<<", i)) {
+                depth++;
+                i++;
+            } else if (text.startsWith(">>", i)) {
+                depth--;
+                i++;
+                if (depth == 0) {
+                    return text.substring(start, i + 1);
+                }
+            }
+        }
+        return text.substring(start);
+    }
+
+    private static long find(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? parseNumber(matcher.group(1), 0) : -1;
+    }
+
+    /**
+     * from 이후 공백을 건너뛴 십진수 (없거나 너무 길면 -1)
+     */
+    private static long parseNumber(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        int start = i;
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            if (i - start >= 18) {
+                return -1;
+            }
+            i++;
+        }
+        return i > start ? Long.parseLong(text.substring(start, i)) : -1;
+    }
+
+    private static String read(RandomAccessFile in, long offset, int maxBytes) throws IOException {
+        long available = in.length() - offset;
+        if (offset < 0 || available <= 0) {
+            return "";
+        }
+        byte[] buffer = new byte[(int) Math.min(maxBytes, available)];
+        in.seek(offset);
+        in.readFully(buffer);
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    private record PageRef(long objectNumber, String inheritedResources) {
+    }
+
+    /**
+     * @param table true면 xref 테이블, false면 xref 스트림 (스트림은 객체 위치를 풀지 않음)
+     * @param trailer trailer 사전 (찾지 못했으면 null)
+     */
+    private record XrefSection(long offset, boolean table, String trailer) {
+    }
+}
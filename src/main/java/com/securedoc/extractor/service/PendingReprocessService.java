@@ -0,0 +1,332 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.model.AuditLog;
+import com.securedoc.extractor.model.Document;
+import com.securedoc.extractor.model.ExtractionResult;
+import com.securedoc.extractor.repository.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재처리 요청(pending) 문서의 백그라운드 처리
+ * 대기 문서를 배치 단위로 가져가 stored_documents/의 원본 PDF로 추출을 다시 수행한다.
+ * 문서는 pending -> processing 조건부 갱신으로 가져가므로 여러 노드에서 실행해도 한 노드만 처리한다.
+ * 대기 문서를 모두 처리했고 OCR 지연 모드가 아니면, 과부하로 OCR을 미룬(pending-ocr) 문서의 OCR을 마저 수행한다.
+ * OCR을 마친 문서는 업로드 때 텍스트 레이어만으로 집계된 평균 신뢰도를 새 값으로 보정한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PendingReprocessService {
+
+    private final DocumentRepository documentRepository;
+    private final PdfExtractionService pdfExtractionService;
+    private final AuditLogService auditLogService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final OcrDeferralService ocrDeferralService;
+    private final DashboardStatisticsService statisticsService;
+
+    @Value("${extraction.pending-drain.enabled:true}")
+    private boolean enabled;
+
+    // 동시에 재처리하는 문서 수
+    @Value("${extraction.pending-drain.workers:2}")
+    private int workers;
+
+    @Value("${extraction.pending-drain.batch-size:4}")
+    private int batchSize;
+
+    // 시스템 CPU 사용률이 이 값 이상이면 다음 배치를 시작하지 않고 다음 주기로 미룸 (1.0이면 제한 없음)
+    @Value("${extraction.pending-drain.max-cpu-load:0.75}")
+    private double maxCpuLoad;
+
+    // 이 시간이 지나도록 processing에 남은 문서는 다른 노드가 다시 가져갈 수 있음
+    @Value("${extraction.pending-drain.claim-timeout-minutes:30}")
+    private long claimTimeoutMinutes;
+
+    // 비어 있으면 호스트명@PID
+    @Value("${extraction.pending-drain.node-id:}")
+    private String nodeId;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+    private Timer batchTimer;
+    private Counter completedCounter;
+    private Counter failedCounter;
+    private Counter deferredCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "pending-reprocess-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        batchTimer = Timer.builder("extraction.pending-drain.batch")
+                .description("재처리 대기 문서 배치 처리 시간")
+                .register(meterRegistry);
+        completedCounter = Counter.builder("extraction.pending-drain.documents")
+                .tag("result", "completed")
+                .description("백그라운드 재처리한 문서 수")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("extraction.pending-drain.documents")
+                .tag("result", "error")
+                .description("백그라운드 재처리한 문서 수")
+                .register(meterRegistry);
+        deferredCounter = Counter.builder("extraction.pending-drain.deferred")
+                .description("CPU 예산 초과로 미룬 배치 수")
+                .register(meterRegistry);
+
+        log.info("재처리 대기 문서 워커 초기화: node={}, workers={}, batchSize={}, maxCpuLoad={}",
+                nodeId, workers, batchSize, maxCpuLoad);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 대기 문서가 없거나 CPU 예산을 넘을 때까지 배치 단위로 재처리
+     */
+    @Scheduled(fixedDelayString = "${extraction.pending-drain.interval-ms:30000}",
+            initialDelayString = "${extraction.pending-drain.initial-delay-ms:20000}")
+    public void drainPendingDocuments() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            releaseExpiredClaims();
+
+            while (!Thread.currentThread().isInterrupted()) {
+                if (isOverCpuBudget()) {
+                    deferredCounter.increment();
+                    log.debug("CPU 사용률이 예산({})을 넘어 재처리를 다음 주기로 미룸", maxCpuLoad);
+                    break;
+                }
+
+                boolean pendingOcr = false;
+                List<Long> claimed = claimBatch(false);
+                if (claimed.isEmpty()) {
+                    // 지연 모드 중에는 미뤄둔 OCR을 시작하지 않음 (부하가 줄어든 뒤 처리)
+                    if (ocrDeferralService.isDegraded()) {
+                        break;
+                    }
+                    pendingOcr = true;
+                    claimed = claimBatch(true);
+                    if (claimed.isEmpty()) {
+                        break;
+                    }
+                }
+
+                long startedNanos = System.nanoTime();
+                processBatch(claimed, pendingOcr);
+                long elapsedNanos = System.nanoTime() - startedNanos;
+                batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                log.info("재처리 배치 완료: {}건, {}ms", claimed.size(), elapsedNanos / 1_000_000);
+            }
+
+            ocrDeferralService.refreshBacklog();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("재처리 대기 문서 처리 실패", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void releaseExpiredClaims() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(claimTimeoutMinutes);
+        Integer released = transactionTemplate.execute(tx -> documentRepository.releaseExpiredClaims(cutoff));
+        if (released != null && released > 0) {
+            log.warn("처리 시간이 초과된 재처리 작업 {}건을 대기 상태로 되돌림", released);
+        }
+    }
+
+    /**
+     * 대기 문서를 조건부 갱신으로 가져감
+     * 다른 노드가 먼저 가져간 문서는 갱신 건수가 0이므로 건너뛴다.
+     * @param pendingOcr true면 재처리 요청 대신 OCR을 미룬 문서를 가져감
+     */
+    private List<Long> claimBatch(boolean pendingOcr) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        List<Long> candidates = pendingOcr
+                ? documentRepository.findPendingOcrIds(page)
+                : documentRepository.findPendingIds(page);
+        List<Long> claimed = new ArrayList<>(candidates.size());
+
+        for (Long id : candidates) {
+            Integer updated = transactionTemplate.execute(tx -> pendingOcr
+                    ? documentRepository.claimPendingOcr(id, nodeId, LocalDateTime.now())
+                    : documentRepository.claimPending(id, nodeId, LocalDateTime.now()));
+            if (updated != null && updated == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed;
+    }
+
+    private void processBatch(List<Long> ids, boolean pendingOcr) throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            tasks.add(() -> {
+                reprocess(id, pendingOcr);
+                return null;
+            });
+        }
+        executor.invokeAll(tasks);
+    }
+
+    /**
+     * @param pendingOcr OCR을 미뤘던 문서 (통계 보정 대상)
+     */
+    private void reprocess(Long id, boolean pendingOcr) {
+        Document document = documentRepository.findById(id).orElse(null);
+        if (document == null) {
+            return;
+        }
+
+        ExtractionResult result;
+        if (document.getFilePath() == null || !new File(document.getFilePath()).exists()) {
+            result = new ExtractionResult();
+            result.setStatus("error");
+            result.addLog("ERROR", "저장된 원본 파일이 없습니다: " + document.getFilePath());
+        } else {
+            result = pdfExtractionService.processPdfFile(new File(document.getFilePath()));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(tx -> applyResult(id, result, pendingOcr));
+        } catch (RuntimeException e) {
+            log.error("재처리 결과 저장 실패: {}", document.getDocId(), e);
+            failedCounter.increment();
+            return;
+        }
+
+        if ("completed".equals(result.getStatus())) {
+            completedCounter.increment();
+        } else {
+            failedCounter.increment();
+        }
+    }
+
+    /**
+     * 이 노드가 가져간 상태 그대로인 경우에만 결과 반영
+     * 처리 시간이 초과되어 다른 노드가 다시 가져간 문서는 덮어쓰지 않는다.
+     */
+    private void applyResult(Long id, ExtractionResult result, boolean pendingOcr) {
+        Document document = documentRepository.findById(id).orElse(null);
+        if (document == null || !"processing".equals(document.getStatus())
+                || !nodeId.equals(document.getClaimedBy())) {
+            log.warn("재처리 작업을 더 이상 소유하지 않아 결과를 버림: {}", id);
+            return;
+        }
+
+        Double previousConfidence = document.getConfidence();
+
+        // 시간 예산 초과(timeout) 등으로 끝까지 추출하지 못한 결과는 기존 텍스트를 덮어쓰지 않음
+        if ("completed".equals(result.getStatus())) {
+            document.setTotalPages(result.getTotalPages());
+            document.setRawText(result.getRawText());
+            document.setTextComplete(result.isTextComplete());
+            document.setContractorA(result.getContractorA());
+            document.setContractorB(result.getContractorB());
+            document.setStartDate(result.getStartDate());
+            document.setEndDate(result.getEndDate());
+            document.setAmount(result.getAmount());
+            document.setConfidence(result.getConfidence());
+            document.setRulesVersion(PdfExtractionService.RULES_VERSION);
+        }
+        document.setStatus(result.getStatus());
+        document.setClaimedBy(null);
+        document.setClaimedAt(null);
+        documentRepository.save(document);
+
+        if (pendingOcr) {
+            updateDeferredOcrStatistics(document, previousConfidence, result);
+        }
+
+        if (!"completed".equals(result.getStatus())) {
+            String reason = result.getLogs() == null || result.getLogs().isEmpty()
+                    ? "알 수 없는 오류"
+                    : result.getLogs().get(result.getLogs().size() - 1).getMessage();
+            auditLogService.logFailure(AuditLog.ActionType.DOCUMENT_EDIT, document.getDocId(),
+                    "문서 재처리 실패: " + reason);
+            log.warn("문서 재처리 실패: {} ({})", document.getDocId(), reason);
+        } else {
+            auditLogService.logDocument(AuditLog.ActionType.DOCUMENT_EDIT, document.getDocId(),
+                    String.format("문서 재처리 완료: %s (신뢰도 %.2f)", document.getFileName(),
+                            document.getConfidence()));
+            log.info("문서 재처리 완료: {}", document.getDocId());
+        }
+    }
+
+    /**
+     * 미뤄둔 OCR 결과를 통계에 반영
+     * 업로드 때 텍스트 레이어만으로 집계한 신뢰도를 OCR 후 값으로 바꾸고, 실패하면 오류 문서로 집계한다.
+     */
+    private void updateDeferredOcrStatistics(Document document, Double previousConfidence, ExtractionResult result) {
+        if ("completed".equals(result.getStatus())) {
+            YearMonth uploadMonth = document.getCreatedAt() != null
+                    ? YearMonth.from(document.getCreatedAt())
+                    : YearMonth.now();
+            statisticsService.replaceConfidence(uploadMonth,
+                    previousConfidence != null ? previousConfidence : 0.0, result.getConfidence());
+            ocrDeferralService.recordCompleted();
+        } else if ("error".equals(result.getStatus())) {
+            statisticsService.incrementDocumentWithError();
+        }
+    }
+
+    private boolean isOverCpuBudget() {
+        if (maxCpuLoad >= 1.0) {
+            return false;
+        }
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            double load = sunOs.getCpuLoad();
+            return load >= 0 && load >= maxCpuLoad;
+        }
+        // 사용률을 알 수 없으면 코어당 평균 부하로 판단
+        double loadAverage = os.getSystemLoadAverage();
+        return loadAverage >= 0 && loadAverage / os.getAvailableProcessors() >= maxCpuLoad;
+    }
+}
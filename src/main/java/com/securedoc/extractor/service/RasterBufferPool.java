@@ -0,0 +1,56 @@
+package com.securedoc.extractor.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * OCR 렌더링용 그레이스케일 래스터 재사용 풀
+ * 같은 문서의 페이지는 대부분 크기가 같으므로, 페이지마다 새 버퍼를 할당하지 않고 재사용한다.
+ */
+@Component
+public class RasterBufferPool {
+
+    @Value("${ocr.raster-pool.size:4}")
+    private int maxPooled;
+
+    private final Deque<BufferedImage> pooled = new ArrayDeque<>();
+
+    /**
+     * 크기가 같은 버퍼가 있으면 재사용, 없으면 새로 할당 (내용은 초기화되지 않음)
+     */
+    public synchronized BufferedImage acquire(int width, int height) {
+        Iterator<BufferedImage> iterator = pooled.iterator();
+        while (iterator.hasNext()) {
+            BufferedImage image = iterator.next();
+            if (image.getWidth() == width && image.getHeight() == height) {
+                iterator.remove();
+                return image;
+            }
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    public synchronized void release(BufferedImage image) {
+        if (image == null || maxPooled <= 0) {
+            return;
+        }
+        if (pooled.size() >= maxPooled) {
+            // 가장 오래된 버퍼를 버려 풀 크기 유지
+            pooled.removeFirst();
+        }
+        pooled.addLast(image);
+    }
+
+    /**
+     * 그레이스케일 래스터의 메모리 크기 (1 byte/pixel)
+     */
+    public static long sizeOf(BufferedImage image) {
+        long bitsPerPixel = image.getColorModel().getPixelSize();
+        return (long) image.getWidth() * image.getHeight() * Math.max(1, bitsPerPixel) / 8;
+    }
+}
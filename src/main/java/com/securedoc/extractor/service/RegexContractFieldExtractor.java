@@ -0,0 +1,190 @@
+package com.securedoc.extractor.service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 정규식 기반 계약 필드 추출 (기존 방식)
+ * 전체 문서를 정규화한 뒤 패턴을 차례로 적용한다. ContractFieldScanner의 회귀 검증 기준으로 유지한다.
+ * 역추적이 큰 패턴은 키워드 위치에서 시작하는 제한된 구간 안에서만 매칭하고,
+ * 모든 매칭은 마감 시각이 지나면 중단된다.
+ */
+public final class RegexContractFieldExtractor {
+
+    // 키워드 위치부터 매칭을 시도하는 구간 길이 (정규화된 문자 수)
+    static final int ANCHOR_WINDOW_CHARS = 2000;
+
+    private static final Pattern CONTRACT_PARTY_PATTERN = Pattern.compile(
+            "(주식회사|\\(주\\)|㈜)\\s*([가-힣A-Za-z0-9&\\s]{2,30})\\s*\\(이하\\s*[\"']?(갑|을)[\"']?\\s*이라\\s*한다\\)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DATE_RANGE_PATTERN = Pattern.compile(
+            "(계약\\s*기간은?|기간은?).*?" +
+                    "(\\d{4}[년/-]\\s*\\d{1,2}[월/-]?\\s*\\d{1,2}일?).*?" +
+                    "(부터|から).*?" +
+                    "(\\d{4}[년/-]\\s*\\d{1,2}[월/-]?\\s*\\d{1,2}일?).*?" +
+                    "(까지|まで)",
+            Pattern.DOTALL);
+
+    private static final Pattern DATE_PATTERN = Pattern.compile(
+            "(\\d{4})[년/-]\\s*(\\d{1,2})[월/-]?\\s*(\\d{1,2})");
+
+    // 여러 금액 패턴 시도
+    private static final Pattern AMOUNT_PATTERN_1 = Pattern.compile(
+            "(총\\s*계약\\s*금액은?|금액은?|계약금은?).*?[₩\\(]?([0-9,]+)\\)?\\s*원",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern AMOUNT_PATTERN_2 = Pattern.compile(
+            "₩\\s*([0-9,]+)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern AMOUNT_PATTERN_3 = Pattern.compile(
+            "\\(\\s*([0-9,]+)\\s*원?\\)",
+            Pattern.CASE_INSENSITIVE);
+
+    private RegexContractFieldExtractor() {
+    }
+
+    public static ContractFields extract(String text) {
+        return extract(text, InterruptibleCharSequence.NO_DEADLINE);
+    }
+
+    /**
+     * @param deadlineNanos System.nanoTime() 기준 마감 시각. 넘기면 남은 필드는 timedOut으로 표시된다.
+     */
+    public static ContractFields extract(String text, long deadlineNanos) {
+        String normalizedText = normalizeText(text);
+        CharSequence input = new InterruptibleCharSequence(normalizedText, deadlineNanos);
+        Set<ContractFields.Field> timedOut = EnumSet.noneOf(ContractFields.Field.class);
+
+        List<ContractFields.Party> parties = new ArrayList<>();
+        try {
+            extractParties(normalizedText, input, parties);
+        } catch (InterruptibleCharSequence.DeadlineExceededException e) {
+            timedOut.add(ContractFields.Field.PARTIES);
+        }
+
+        String startDate = null;
+        String endDate = null;
+        try {
+            Matcher dateMatcher = findDateRange(normalizedText, input);
+            if (dateMatcher != null) {
+                startDate = normalizeDate(dateMatcher.group(2).trim());
+                endDate = normalizeDate(dateMatcher.group(4).trim());
+            }
+        } catch (InterruptibleCharSequence.DeadlineExceededException e) {
+            timedOut.add(ContractFields.Field.PERIOD);
+        }
+
+        String amount1 = null;
+        String amount2 = null;
+        String amount3 = null;
+        try {
+            amount1 = findAmountAfterKeyword(normalizedText, input);
+            amount2 = findGroup(AMOUNT_PATTERN_2, input, 1);
+            amount3 = findGroup(AMOUNT_PATTERN_3, input, 1);
+        } catch (InterruptibleCharSequence.DeadlineExceededException e) {
+            // 앞선 패턴에서 이미 찾은 금액은 그대로 사용
+            if (amount1 == null && amount2 == null) {
+                timedOut.add(ContractFields.Field.AMOUNT);
+            }
+        }
+
+        return new ContractFields(parties, startDate, endDate, amount1, amount2, amount3, timedOut);
+    }
+
+    private static String normalizeText(String text) {
+        return text.replaceAll("[\\r\\n]+", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    /**
+     * 회사 형태 표기 위치에서만 당사자 패턴을 시도 (최대 2개)
+     */
+    private static void extractParties(String text, CharSequence input, List<ContractFields.Party> parties) {
+        Matcher matcher = CONTRACT_PARTY_PATTERN.matcher(input);
+        int i = 0;
+        while (parties.size() < 2 && i < text.length()) {
+            if (text.startsWith("주식회사", i) || text.startsWith("(주)", i) || text.charAt(i) == '㈜') {
+                matcher.region(i, Math.min(text.length(), i + ANCHOR_WINDOW_CHARS));
+                if (matcher.lookingAt()) {
+                    parties.add(new ContractFields.Party(matcher.group(1), matcher.group(2).trim(),
+                            matcher.group(3)));
+                    i = matcher.end();
+                    continue;
+                }
+            }
+            i++;
+        }
+    }
+
+    /**
+     * "기간" 위치마다 구간 안에서 기간 패턴을 시도
+     * 마지막 "까지" 이후의 키워드는 매칭될 수 없으므로 건너뛴다.
+     */
+    private static Matcher findDateRange(String text, CharSequence input) {
+        int lastUntil = Math.max(text.lastIndexOf("까지"), text.lastIndexOf("まで"));
+        Matcher matcher = DATE_RANGE_PATTERN.matcher(input);
+
+        for (int anchor = text.indexOf("기간"); anchor >= 0 && anchor < lastUntil;
+             anchor = text.indexOf("기간", anchor + 1)) {
+            int windowEnd = Math.min(text.length(), anchor + ANCHOR_WINDOW_CHARS);
+            matcher.region(anchor, windowEnd);
+            if (matcher.lookingAt()) {
+                return matcher;
+            }
+            // 구간이 문서 끝까지 닿았는데 실패했다면 뒤쪽 키워드도 실패한다
+            if (windowEnd == text.length()) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * "금액", "계약금" 위치마다 구간 안에서 금액 패턴 1을 시도
+     * 마지막 "원" 이후의 키워드는 매칭될 수 없으므로 건너뛴다.
+     */
+    private static String findAmountAfterKeyword(String text, CharSequence input) {
+        int lastWon = text.lastIndexOf('원');
+        Matcher matcher = AMOUNT_PATTERN_1.matcher(input);
+
+        for (int i = 0; i < lastWon; i++) {
+            if (!text.startsWith("금액", i) && !text.startsWith("계약금", i)) {
+                continue;
+            }
+            int windowEnd = Math.min(text.length(), i + ANCHOR_WINDOW_CHARS);
+            matcher.region(i, windowEnd);
+            if (matcher.lookingAt()) {
+                return matcher.group(2);
+            }
+        }
+        return null;
+    }
+
+    private static String normalizeDate(String dateStr) {
+        if (dateStr == null || dateStr.isBlank()) {
+            return null;
+        }
+
+        Matcher matcher = DATE_PATTERN.matcher(dateStr);
+        if (matcher.find()) {
+            return String.format("%s-%02d-%02d",
+                    matcher.group(1),
+                    Integer.parseInt(matcher.group(2)),
+                    Integer.parseInt(matcher.group(3)));
+        }
+
+        return dateStr;
+    }
+
+    private static String findGroup(Pattern pattern, CharSequence text, int group) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group(group) : null;
+    }
+}
@@ -0,0 +1,180 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.repository.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 추출 규칙 버전 변경 시 오래된 문서의 백그라운드 재추출
+ * 현재 RULES_VERSION보다 낮은 버전으로 추출된 문서만 저장된 원문으로 다시 추출한다.
+ * 사람이 검증 화면에서 수정한 문서는 필드를 덮어쓰지 않고 규칙 버전만 기록하며,
+ * 전체 재처리를 기다리거나 진행 중인(pending / processing / pending-ocr) 문서는 재처리 워커에 맡긴다.
+ * 진행 상황은 문서의 rulesVersion으로 기록되므로 재시작 후에도 남은 문서부터 이어서 처리된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RulesMigrationService {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentReextractionService documentReextractionService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${extraction.rules-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${extraction.rules-migration.workers:2}")
+    private int workers;
+
+    @Value("${extraction.rules-migration.batch-size:200}")
+    private int batchSize;
+
+    // 배치 사이 대기 시간 (요청 처리와 DB 부하 조절)
+    @Value("${extraction.rules-migration.pause-ms:200}")
+    private long pauseMs;
+
+    private ExecutorService executor;
+    private Counter migratedCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong changed = new AtomicLong();
+    private final AtomicInteger failedRuns = new AtomicInteger();
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+    private volatile long runStartedNanos;
+    private volatile long runFinishedNanos;
+    private volatile long runProcessed;
+    private volatile String lastError;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "rules-migration-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        migratedCounter = Counter.builder("extraction.rules-migration.documents")
+                .description("규칙 버전 갱신을 위해 재추출한 문서 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 오래된 문서가 있으면 모두 처리할 때까지 배치 단위로 재추출
+     */
+    @Scheduled(fixedDelayString = "${extraction.rules-migration.interval-ms:60000}",
+            initialDelayString = "${extraction.rules-migration.initial-delay-ms:30000}")
+    public void migrateStaleDocuments() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            int stamped = documentReextractionService.stampManuallyEditedDocuments();
+            if (stamped > 0) {
+                log.info("사람이 수정한 문서 {}건은 필드를 유지하고 규칙 버전 {}만 기록", stamped,
+                        PdfExtractionService.RULES_VERSION);
+            }
+
+            long stale = documentRepository.countStaleDocuments(PdfExtractionService.RULES_VERSION);
+            if (stale == 0) {
+                return;
+            }
+
+            log.info("규칙 버전 {} 재추출 시작: 대상 {}건", PdfExtractionService.RULES_VERSION, stale);
+            lastStartedAt = LocalDateTime.now();
+            runStartedNanos = System.nanoTime();
+            runFinishedNanos = 0;
+            runProcessed = 0;
+            lastError = null;
+
+            long lastId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                DocumentReextractionService.BatchResult batch =
+                        documentReextractionService.reextractStaleBatch(lastId, batchSize, executor);
+                if (batch == null || batch.processed() == 0) {
+                    break;
+                }
+
+                lastId = batch.lastId();
+                runProcessed += batch.processed();
+                processed.addAndGet(batch.processed());
+                changed.addAndGet(batch.changed());
+                migratedCounter.increment(batch.processed());
+
+                if (pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            }
+
+            lastFinishedAt = LocalDateTime.now();
+            runFinishedNanos = System.nanoTime();
+            log.info("규칙 버전 {} 재추출 완료: {}건 ({} 건/초)", PdfExtractionService.RULES_VERSION,
+                    runProcessed, String.format("%.1f", getThroughput()));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failedRuns.incrementAndGet();
+            lastError = e.getMessage();
+            log.error("규칙 버전 재추출 실패 (다음 실행에서 이어서 처리)", e);
+        } finally {
+            if (runStartedNanos != 0 && runFinishedNanos == 0) {
+                runFinishedNanos = System.nanoTime();
+            }
+            running.set(false);
+        }
+    }
+
+    /**
+     * 현재(또는 마지막) 실행의 처리량 (건/초)
+     */
+    public double getThroughput() {
+        if (runStartedNanos == 0) {
+            return 0.0;
+        }
+        long endNanos = runFinishedNanos != 0 ? runFinishedNanos : System.nanoTime();
+        long elapsedNanos = endNanos - runStartedNanos;
+        return elapsedNanos <= 0 ? 0.0 : runProcessed * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("enabled", enabled);
+        progress.put("rulesVersion", PdfExtractionService.RULES_VERSION);
+        progress.put("running", running.get());
+        progress.put("staleDocuments", documentRepository.countStaleDocuments(PdfExtractionService.RULES_VERSION));
+        progress.put("processedInCurrentRun", runProcessed);
+        progress.put("processedTotal", processed.get());
+        progress.put("changedTotal", changed.get());
+        progress.put("throughputPerSecond", Math.round(getThroughput() * 10) / 10.0);
+        progress.put("lastStartedAt", lastStartedAt);
+        progress.put("lastFinishedAt", lastFinishedAt);
+        progress.put("failedRuns", failedRuns.get());
+        progress.put("lastError", lastError);
+        return progress;
+    }
+}
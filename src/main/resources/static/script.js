@@ -153,7 +153,8 @@ async function uploadFile(file) {
             headers['Authorization'] = `Bearer ${token}`;
         }
 
-        const response = await fetch(API_URL, {
+        // 작업으로 등록한 뒤 진행 상황을 SSE로 받아 처리 중임을 바로 보여줌
+        const response = await fetch(`${API_URL}?async=true`, {
             method: 'POST',
             headers: headers,
             body: formData
@@ -169,10 +170,17 @@ async function uploadFile(file) {
             throw new Error(errorData.logs?.[0]?.message || '서버 오류 발생');
         }
 
-        const result = await response.json();
+        const job = await response.json();
+        await followJobProgress(job.jobId);
+
+        const resultResponse = await fetch(`/api/extract/jobs/${job.jobId}/result`, { headers });
+        const result = await resultResponse.json();
+        if (!resultResponse.ok) {
+            throw new Error(result.logs?.[0]?.message || '서버 오류 발생');
+        }
         addLog('INFO', '파일 처리 완료!');
-        
-        updateUI(result);
+
+        updateUI(result, false);
         loadRecentDocuments();
 
     } catch (error) {
@@ -182,8 +190,40 @@ async function uploadFile(file) {
     }
 }
 
+// 추출 작업 진행 이벤트 구독 (done 이벤트를 받으면 종료)
+function followJobProgress(jobId) {
+    return new Promise((resolve, reject) => {
+        const source = new EventSource(`/api/extract/jobs/${jobId}/events`);
+        let finished = false;
+
+        source.addEventListener('log', (event) => {
+            const log = JSON.parse(event.data);
+            addLog(log.level, log.message);
+        });
+
+        source.addEventListener('progress', (event) => {
+            const progress = JSON.parse(event.data);
+            addLog('INFO', `OCR 진행: ${progress.completed}/${progress.total} 페이지`);
+        });
+
+        source.addEventListener('done', () => {
+            finished = true;
+            source.close();
+            resolve();
+        });
+
+        source.onerror = () => {
+            // 서버가 연결을 닫은 경우 브라우저가 자동 재연결하므로 완료 후에만 종료
+            if (finished) return;
+            if (source.readyState === EventSource.CLOSED) {
+                reject(new Error('진행 상황 연결이 끊어졌습니다'));
+            }
+        };
+    });
+}
+
 // UI Update Function with null checks
-function updateUI(result) {
+function updateUI(result, showLogs = true) {
     // 현재 문서 ID 저장
     currentDocId = result.docId;
 
@@ -219,7 +259,7 @@ function updateUI(result) {
         }
     }
 
-    if (result.logs && Array.isArray(result.logs)) {
+    if (showLogs && result.logs && Array.isArray(result.logs)) {
         result.logs.forEach(log => addLog(log.level, log.message));
     }
 }
@@ -0,0 +1,52 @@
+package com.securedoc.extractor.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 필드 스캐너와 정규식 추출기를 비교하는 회귀 코퍼스 (표본 계약서 + 토큰 조합 퍼징 문서)
+ */
+final class ContractFieldCorpus {
+
+	static final List<String> SAMPLE_CONTRACTS = List.of(
+			"용역 계약서\n\n주식회사 한빛소프트 (이하 \"갑\"이라 한다)와 (주)미래테크 (이하 \"을\"이라 한다)는\n"
+					+ "다음과 같이 계약을 체결한다.\n제2조 (계약 기간) 계약 기간은 2024년 1월 15일부터 2024년 12월 31일까지로 한다.\n"
+					+ "제3조 (계약 금액) 총 계약 금액은 금 일억원정 (₩100,000,000)으로 한다.",
+			"㈜ABC&D (이하 '갑'이라 한다)\r\n㈜ 가나다 (이하 을 이라 한다)\n기간: 2023-03-01 부터 2023-09-30 까지\n"
+					+ "계약금은 5,000,000 원",
+			"주식회사   서울\t데이터    (이하 \"을\"이라   한다)\n기간은 2025/7/1から2026/6/30まで\n금액 (3,300,000원)",
+			"기간 2024년 13월 5일 부터 2024년 1 2월 3일 까지\n₩ 12,345\n(\n 777 )",
+			"계약 기간은 2024년 1월 1일까지이며 금액은 미정\n  1,000원",
+			"(주)가 (이하 \"갑\"이라 한다) 주식회사 나 (이하 \"을\"이라 한다) 주식회사 다라 (이하 \"갑\"이라 한다)",
+			"금액은 0원, 부가세 별도 (₩ 0) (10,000원)",
+			"",
+			"   \n\t  ");
+
+	private static final String[] FUZZ_TOKENS = {
+			"주식회사", "(주)", "㈜", " ", "  ", "\n", "\r\n", "\t", "가나다", "테크", "ABC", "a&b",
+			"1", "2024", "12", "3", "년", "월", "일", "/", "-", "(", ")", "이하", "\"", "'", "갑", "을",
+			"이라", "한다", "한다)", "기간", "계약 기간은", "부터", "から", "까지", "まで", "금액", "계약금", "은",
+			"총 계약 금액은", "₩", "원", ",", "000", "1,000", ".", "\u0085", "\u2028", "\u0001", "X",
+			"(이하 \"갑\"이라 한다)", "2024년 1월 15일", "2024-03-01", "2025/12/31"};
+
+	private ContractFieldCorpus() {
+	}
+
+	/**
+	 * 고정 시드로 토큰을 최대 maxTokens개 이어 붙인 문서 count개
+	 */
+	static List<String> fuzz(long seed, int count, int maxTokens) {
+		Random random = new Random(seed);
+		List<String> documents = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			StringBuilder text = new StringBuilder();
+			int tokens = random.nextInt(maxTokens);
+			for (int t = 0; t < tokens; t++) {
+				text.append(FUZZ_TOKENS[random.nextInt(FUZZ_TOKENS.length)]);
+			}
+			documents.add(text.toString());
+		}
+		return documents;
+	}
+}
@@ -0,0 +1,85 @@
+package com.securedoc.extractor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 역추적을 크게 일으키는 입력에서 필드 추출이 시간 예산 안에 끝나는지 확인
+ */
+class ContractFieldPathologicalInputTest {
+
+	private static final long BUDGET_MS = 200;
+	private static final Duration MAX_WALL_TIME = Duration.ofSeconds(5);
+
+	// "기간"과 시작일이 반복되지만 "부터" 뒤에 종료일이 없는 문서
+	private static final String PERIOD_WITHOUT_END_DATE = "기간 2024-1-1 ".repeat(20_000) + "부터 까지";
+
+	private static final List<String> CORPUS = List.of(
+			PERIOD_WITHOUT_END_DATE,
+			"계약 기간은 2024년 1월 1일부터 ".repeat(20_000),
+			"기간 ".repeat(50_000) + "까지",
+			("금액은 " + "12,345 ".repeat(50)).repeat(500) + "원",
+			"금액 " + "1,".repeat(100_000),
+			"(".repeat(50_000) + "1".repeat(50_000),
+			"₩ ".repeat(50_000),
+			("주식회사 " + "가나다 ".repeat(20)).repeat(2_000) + "(이하 \"갑\"이라 한다)",
+			"\n".repeat(100_000));
+
+	@Test
+	void scannerStaysLinearOnPathologicalInputs() {
+		for (String text : CORPUS) {
+			ContractFields fields = assertTimeoutPreemptively(MAX_WALL_TIME, () -> ContractFieldScanner.scan(text));
+			assertThat(fields.timedOut()).isEmpty();
+		}
+	}
+
+	@Test
+	void regexExtractorReturnsWithinBudget() {
+		for (String text : CORPUS) {
+			ContractFields expected = ContractFieldScanner.scan(text);
+			ContractFields fields = assertTimeoutPreemptively(MAX_WALL_TIME,
+					() -> RegexContractFieldExtractor.extract(text, InterruptibleCharSequence.deadlineAfter(BUDGET_MS)));
+
+			if (!fields.isTimedOut(ContractFields.Field.PERIOD)) {
+				assertThat(fields.startDate()).isEqualTo(expected.startDate());
+				assertThat(fields.endDate()).isEqualTo(expected.endDate());
+			}
+			if (!fields.isTimedOut(ContractFields.Field.PARTIES)) {
+				assertThat(fields.parties()).isEqualTo(expected.parties());
+			}
+		}
+	}
+
+	@Test
+	void regexExtractorReportsTimedOutPeriod() {
+		ContractFields fields = RegexContractFieldExtractor.extract(PERIOD_WITHOUT_END_DATE,
+				InterruptibleCharSequence.deadlineAfter(BUDGET_MS));
+
+		assertThat(fields.timedOut()).contains(ContractFields.Field.PERIOD);
+		assertThat(fields.startDate()).isNull();
+	}
+
+	@Test
+	void scannerStopsAtExpiredDeadline() {
+		ContractFields fields = ContractFieldScanner.scan(PERIOD_WITHOUT_END_DATE, System.nanoTime() - 1);
+
+		assertThat(fields.timedOut()).contains(ContractFields.Field.PARTIES, ContractFields.Field.PERIOD,
+				ContractFields.Field.AMOUNT);
+	}
+
+	@Test
+	void scannerKeepsAmountFoundBeforeDeadline() {
+		String text = "계약금은 5,000,000 원 " + "가".repeat(100_000);
+
+		ContractFields fields = ContractFieldScanner.scan(text, System.nanoTime() - 1);
+
+		assertThat(fields.amountPattern1()).isEqualTo("5,000,000");
+		assertThat(fields.isTimedOut(ContractFields.Field.AMOUNT)).isFalse();
+		assertThat(fields.timedOut()).contains(ContractFields.Field.PARTIES, ContractFields.Field.PERIOD);
+	}
+}
@@ -0,0 +1,84 @@
+package com.securedoc.extractor.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회귀 코퍼스에서 필드 스캐너와 정규식 추출기(기준 구현)의 처리량 비교 (docs/s, MB/s)
+ * 시간이 걸리므로 기본 테스트에서는 건너뛰고 -Dbenchmark=true로 실행한다.
+ * 예: mvn test -Dtest=ContractFieldScannerBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ContractFieldScannerBenchmarkTest {
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 10;
+
+	@Test
+	void compareScannerWithRegexExtractor() {
+		List<String> corpus = corpus();
+		long bytes = corpus.stream().mapToLong(text -> text.getBytes(StandardCharsets.UTF_8).length).sum();
+
+		// 두 구현이 같은 결과를 내는 코퍼스에서만 비교
+		for (String text : corpus) {
+			assertThat(ContractFieldScanner.scan(text)).isEqualTo(RegexContractFieldExtractor.extract(text));
+		}
+
+		Throughput regex = measure("regex", corpus, bytes, RegexContractFieldExtractor::extract);
+		Throughput scanner = measure("scanner", corpus, bytes, ContractFieldScanner::scan);
+
+		System.out.printf("코퍼스: 문서 %d건, %.2f MB%n", corpus.size(), bytes / 1_000_000.0);
+		regex.print();
+		scanner.print();
+		System.out.printf("scanner / regex: %.2fx%n", scanner.docsPerSecond() / regex.docsPerSecond());
+	}
+
+	/**
+	 * 표본 계약서, 여러 페이지 분량으로 늘린 계약서, 퍼징 문서
+	 */
+	private static List<String> corpus() {
+		List<String> corpus = new ArrayList<>(ContractFieldCorpus.SAMPLE_CONTRACTS);
+		for (String sample : ContractFieldCorpus.SAMPLE_CONTRACTS) {
+			corpus.add((sample + "\n부칙 및 특약 사항은 별첨과 같다.\n").repeat(40));
+		}
+		corpus.addAll(ContractFieldCorpus.fuzz(20240115L, 5_000, 60));
+		corpus.addAll(ContractFieldCorpus.fuzz(20240116L, 200, 2_000));
+		return corpus;
+	}
+
+	private static Throughput measure(String name, List<String> corpus, long bytes,
+									  Function<String, ContractFields> extractor) {
+		int sink = 0;
+		for (int round = 0; round < WARMUP_ROUNDS; round++) {
+			for (String text : corpus) {
+				sink += extractor.apply(text).parties().size();
+			}
+		}
+
+		long started = System.nanoTime();
+		for (int round = 0; round < MEASURED_ROUNDS; round++) {
+			for (String text : corpus) {
+				sink += extractor.apply(text).parties().size();
+			}
+		}
+		double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+		assertThat(sink).isNotNegative();
+
+		return new Throughput(name, corpus.size() * (double) MEASURED_ROUNDS / seconds,
+				bytes * (double) MEASURED_ROUNDS / 1_000_000.0 / seconds);
+	}
+
+	private record Throughput(String name, double docsPerSecond, double megabytesPerSecond) {
+
+		void print() {
+			System.out.printf("%-8s %,12.0f docs/s %10.2f MB/s%n", name, docsPerSecond, megabytesPerSecond);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.securedoc.extractor.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContractFieldScannerTest {
+
+	@Test
+	void sampleContractsMatchRegexExtractor() {
+		for (String text : ContractFieldCorpus.SAMPLE_CONTRACTS) {
+			assertThat(ContractFieldScanner.scan(text))
+					.as(text)
+					.isEqualTo(RegexContractFieldExtractor.extract(text));
+		}
+	}
+
+	@Test
+	void extractsAllFieldsFromTypicalContract() {
+		ContractFields fields = ContractFieldScanner.scan(ContractFieldCorpus.SAMPLE_CONTRACTS.get(0));
+
+		assertThat(fields.parties()).containsExactly(
+				new ContractFields.Party("주식회사", "한빛소프트", "갑"),
+				new ContractFields.Party("(주)", "미래테크", "을"));
+		assertThat(fields.startDate()).isEqualTo("2024-01-15");
+		assertThat(fields.endDate()).isEqualTo("2024-12-31");
+		assertThat(fields.amountPattern1()).isNull();
+		assertThat(fields.amountPattern2()).isEqualTo("100,000,000");
+	}
+
+	@Test
+	void randomTextMatchesRegexExtractor() {
+		for (String input : ContractFieldCorpus.fuzz(20240115L, 20_000, 60)) {
+			assertThat(ContractFieldScanner.scan(input))
+					.as(input)
+					.isEqualTo(RegexContractFieldExtractor.extract(input));
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.securedoc.extractor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairShareQueueTest {
+
+	@Test
+	void alternatesBetweenOwnersByWeight() {
+		FairShareQueue queue = new FairShareQueue(100, 0, 0);
+		List<String> order = new ArrayList<>();
+
+		for (int i = 0; i < 6; i++) {
+			queue.offer(queue.task("bulk", 1.0, () -> order.add("bulk")));
+		}
+		queue.offer(queue.task("alice", 1.0, () -> order.add("alice")));
+		queue.offer(queue.task("alice", 1.0, () -> order.add("alice")));
+		queue.offer(queue.task("admin", 2.0, () -> order.add("admin")));
+		queue.offer(queue.task("admin", 2.0, () -> order.add("admin")));
+
+		Runnable task;
+		while ((task = queue.poll()) != null) {
+			task.run();
+		}
+
+		assertThat(order).hasSize(10);
+		// 가중치 2인 소유자는 처음 네 건 안에 두 번 모두 배정되고, 대량 업로드 사용자는 다른 사용자 사이에 끼어든다
+		assertThat(order).containsExactly(
+				"bulk", "alice", "admin", "admin", "bulk", "alice", "bulk", "bulk", "bulk", "bulk");
+	}
+
+	@Test
+	void holdsOwnerAtInFlightLimitUntilTaskFinishes() {
+		FairShareQueue queue = new FairShareQueue(100, 0, 1);
+		queue.offer(queue.task("bulk", 1.0, () -> { }));
+		queue.offer(queue.task("bulk", 1.0, () -> { }));
+
+		Runnable first = queue.poll();
+		assertThat(first).isNotNull();
+		assertThat(queue.poll()).isNull();
+		assertThat(queue.inFlightFor("bulk")).isEqualTo(1);
+		assertThat(queue.queuedFor("bulk")).isEqualTo(1);
+
+		first.run();
+		assertThat(queue.poll()).isNotNull();
+	}
+
+	@Test
+	void rejectsOverPerOwnerQueueLimit() {
+		FairShareQueue queue = new FairShareQueue(100, 2, 0);
+
+		assertThat(queue.offer(queue.task("bulk", 1.0, () -> { }))).isTrue();
+		assertThat(queue.offer(queue.task("bulk", 1.0, () -> { }))).isTrue();
+		assertThat(queue.offer(queue.task("bulk", 1.0, () -> { }))).isFalse();
+		assertThat(queue.offer(queue.task("alice", 1.0, () -> { }))).isTrue();
+		assertThat(queue.size()).isEqualTo(3);
+	}
+
+	@Test
+	void dropsOwnersWithNoQueuedOrRunningTasks() {
+		FairShareQueue queue = new FairShareQueue(100, 0, 0);
+		queue.offer(queue.task("alice", 1.0, () -> { }));
+		queue.offer(queue.task("bob", 1.0, () -> { }));
+
+		Runnable first = queue.poll();
+		assertThat(queue.ownerCount()).isEqualTo(2);
+
+		first.run();
+		assertThat(queue.ownerCount()).isEqualTo(1);
+
+		queue.poll().run();
+		assertThat(queue.ownerCount()).isZero();
+		assertThat(queue.queuedFor("alice")).isZero();
+		assertThat(queue.inFlightFor("bob")).isZero();
+	}
+}
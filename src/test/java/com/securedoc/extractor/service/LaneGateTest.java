@@ -0,0 +1,65 @@
+package com.securedoc.extractor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LaneGateTest {
+
+	@Test
+	void rejectsWhenQueueIsFullAndTimesOutWithoutCapacity() throws Exception {
+		LaneGate gate = new LaneGate(2, 0, false);
+
+		assertThat(gate.tryAcquire(2, 0, 0)).isEqualTo(LaneGate.Result.ACQUIRED);
+		assertThat(gate.tryAcquire(1, 0, TimeUnit.MILLISECONDS.toNanos(10)))
+				.isEqualTo(LaneGate.Result.QUEUE_FULL);
+
+		LaneGate queued = new LaneGate(1, 1, false);
+		assertThat(queued.tryAcquire(1, 0, 0)).isEqualTo(LaneGate.Result.ACQUIRED);
+		assertThat(queued.tryAcquire(1, 0, TimeUnit.MILLISECONDS.toNanos(10)))
+				.isEqualTo(LaneGate.Result.TIMED_OUT);
+		assertThat(queued.getQueued()).isZero();
+		assertThat(queued.getQueuedWeight()).isZero();
+	}
+
+	@Test
+	void deadlineOrderingAdmitsEarliestDeadlineFirst() throws Exception {
+		LaneGate gate = new LaneGate(1, 10, true);
+		gate.acquire(1, 0);
+
+		List<Long> admitted = new CopyOnWriteArrayList<>();
+		long[] deadlines = { 300, 100, 200 };
+		CountDownLatch done = new CountDownLatch(deadlines.length);
+		for (long deadline : deadlines) {
+			Thread waiter = new Thread(() -> {
+				try {
+					gate.acquire(1, deadline);
+					admitted.add(deadline);
+					gate.release(1);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+			waiter.setDaemon(true);
+			waiter.start();
+		}
+
+		long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (gate.getQueued() < deadlines.length && System.nanoTime() < waitUntil) {
+			Thread.sleep(5);
+		}
+		assertThat(gate.getQueued()).isEqualTo(deadlines.length);
+
+		gate.release(1);
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(admitted).containsExactly(100L, 200L, 300L);
+		assertThat(gate.getInUse()).isZero();
+	}
+}
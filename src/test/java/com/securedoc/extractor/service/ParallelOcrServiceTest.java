@@ -0,0 +1,53 @@
+package com.securedoc.extractor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelOcrServiceTest {
+
+	private static final int STRIP_HEIGHT = 200;
+	private static final int OVERLAP = 64;
+
+	@Test
+	void cutsAboveLineThatCrossesStripBoundary() {
+		// 띠 높이 200에서 185~215행에 걸친 줄: 첫 띠에는 185~199행만 그려짐
+		BufferedImage strip = new BufferedImage(400, STRIP_HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D g = strip.createGraphics();
+		g.setColor(Color.WHITE);
+		g.fillRect(0, 0, 400, STRIP_HEIGHT);
+		g.setColor(Color.BLACK);
+		g.fillRect(20, 140, 300, 20);
+		g.fillRect(20, 185, 300, STRIP_HEIGHT - 185);
+		g.dispose();
+
+		int cut = ParallelOcrService.findBlankRow(strip, STRIP_HEIGHT - OVERLAP, STRIP_HEIGHT);
+
+		// 경계에 걸친 줄 전체가 다음 띠로 넘어가고, 위쪽 줄은 그대로 첫 띠에 남음
+		assertThat(cut).isBetween(160, 184);
+	}
+
+	@Test
+	void reportsNoBlankRowInDenseRegion() {
+		BufferedImage strip = new BufferedImage(100, STRIP_HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+
+		assertThat(ParallelOcrService.findBlankRow(strip, STRIP_HEIGHT - OVERLAP, STRIP_HEIGHT)).isEqualTo(-1);
+	}
+
+	@Test
+	void dropsLinesRecognizedTwiceInOverlappingStrips() {
+		String text = ParallelOcrService.joinStrips(
+				List.of("용역 계약서\n제2조 계약 기간은\n2024년 1월 15일부터",
+						"2024년 1월  15일부터\n2024년 12월 31일까지로 한다.",
+						"제3조 계약 금액"),
+				List.of(false, true, false));
+
+		assertThat(text).isEqualTo(
+				"용역 계약서\n제2조 계약 기간은\n2024년 1월 15일부터\n2024년 12월 31일까지로 한다.\n제3조 계약 금액");
+	}
+}
@@ -0,0 +1,142 @@
+package com.securedoc.extractor.service;
+
+import com.securedoc.extractor.exception.InvalidPdfException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.encryption.AccessPermission;
+import org.apache.pdfbox.pdmodel.encryption.StandardProtectionPolicy;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfPreflightTest {
+
+	@TempDir
+	Path tempDir;
+
+	private final PdfPreflight preflight = new PdfPreflight(new SimpleMeterRegistry());
+
+	@Test
+	void readsVersionAndPageCountFromValidPdf() throws Exception {
+		File file = write("valid.pdf", pdf(3, false));
+
+		PdfPreflight.Report report = preflight.verify(file);
+
+		assertThat(report.version()).isEqualTo("1.4");
+		assertThat(report.pageCount()).isEqualTo(3);
+		assertThat(report.hasFonts()).isFalse();
+	}
+
+	@Test
+	void detectsTextLayerFromPageFonts() throws Exception {
+		File file = write("text.pdf", textPdf());
+
+		PdfPreflight.Report report = preflight.verify(file);
+
+		assertThat(report.pageCount()).isEqualTo(1);
+		assertThat(report.hasFonts()).isTrue();
+	}
+
+	@Test
+	void rejectsFilesThatAreNotPdf() throws Exception {
+		File file = write("fake.pdf", "PK\u0003\u0004 not a pdf".getBytes(StandardCharsets.ISO_8859_1));
+
+		assertThatThrownBy(() -> preflight.verify(file))
+				.isInstanceOf(InvalidPdfException.class)
+				.extracting(e -> ((InvalidPdfException) e).getReason())
+				.isEqualTo("not-pdf");
+	}
+
+	@Test
+	void rejectsTruncatedPdf() throws Exception {
+		byte[] bytes = pdf(2, false);
+		File file = write("truncated.pdf", Arrays.copyOf(bytes, bytes.length / 2));
+
+		assertThatThrownBy(() -> preflight.verify(file))
+				.isInstanceOf(InvalidPdfException.class)
+				.extracting(e -> ((InvalidPdfException) e).getReason())
+				.isEqualTo("truncated");
+	}
+
+	@Test
+	void rejectsEncryptedPdf() throws Exception {
+		File file = write("encrypted.pdf", pdf(1, true));
+
+		assertThatThrownBy(() -> preflight.verify(file))
+				.isInstanceOf(InvalidPdfException.class)
+				.extracting(e -> ((InvalidPdfException) e).getReason())
+				.isEqualTo("encrypted");
+	}
+
+	@Test
+	void rejectsPdfWithoutPages() throws Exception {
+		File file = write("empty.pdf", pdf(0, false));
+
+		assertThatThrownBy(() -> preflight.verify(file))
+				.isInstanceOf(InvalidPdfException.class)
+				.extracting(e -> ((InvalidPdfException) e).getReason())
+				.isEqualTo("no-pages");
+	}
+
+	@Test
+	void leavesMalformedXrefToFullParse() throws Exception {
+		String text = new String(pdf(2, false), StandardCharsets.ISO_8859_1)
+				.replaceFirst("xref\\s+0 \\d+", "xref\n0 99999999999999999999");
+		File file = write("malformed-xref.pdf", text.getBytes(StandardCharsets.ISO_8859_1));
+
+		PdfPreflight.Report report = preflight.verify(file);
+
+		assertThat(report.pageCount()).isEqualTo(-1);
+		assertThat(report.hasFonts()).isNull();
+	}
+
+	private static byte[] pdf(int pages, boolean encrypted) throws IOException {
+		try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			for (int i = 0; i < pages; i++) {
+				document.addPage(new PDPage());
+			}
+			if (encrypted) {
+				StandardProtectionPolicy policy = new StandardProtectionPolicy("owner", "user", new AccessPermission());
+				policy.setEncryptionKeyLength(128);
+				document.protect(policy);
+			}
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+
+	private static byte[] textPdf() throws IOException {
+		try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			PDPage page = new PDPage();
+			document.addPage(page);
+			try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+				content.beginText();
+				content.setFont(PDType1Font.HELVETICA, 12);
+				content.newLineAtOffset(72, 720);
+				content.showText("Contract No. 2024-001");
+				content.endText();
+			}
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+
+	private File write(String name, byte[] bytes) throws IOException {
+		Path file = tempDir.resolve(name);
+		Files.write(file, bytes);
+		return file.toFile();
+	}
+}